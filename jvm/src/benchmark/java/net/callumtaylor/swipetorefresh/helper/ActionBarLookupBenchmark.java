@@ -0,0 +1,141 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+/**
+ * Compares finding the action bar container through {@link RefreshHelper#reset(Activity)}
+ * on a window whose container is already cached against finding it on a new
+ * window, which has to walk the whole decor comparing class names.
+ *
+ * The content is a chain of nested layouts with a few leaf views at each level,
+ * and it is placed before the action bar in the decor, as in an overlay action bar
+ * layout, so a cache miss visits every view of it. Only the reset call is timed,
+ * building each new activity is not.
+ *
+ * Run with ./gradlew :jvm:actionBarBenchmark
+ */
+public class ActionBarLookupBenchmark
+{
+	private static final int[] DEPTHS = {1, 8, 32, 128};
+	private static final int LEAVES_PER_LEVEL = 3;
+
+	private static final int WARMUP_ITERATIONS = 2000;
+	private static final int CACHED_ITERATIONS = 200000;
+	private static final int WALK_ITERATIONS = 5000;
+
+	private static final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+	private static long nanos, bytes;
+
+	public static void main(String[] args)
+	{
+		System.out.println(String.format("%-7s %-7s %-7s %12s %12s",
+			"depth", "views", "lookup", "ns/lookup", "bytes/lookup"));
+
+		for (int depth : DEPTHS)
+		{
+			Activity activity = createActivity(depth);
+
+			run(activity, WARMUP_ITERATIONS);
+			nanos = bytes = 0;
+			run(activity, CACHED_ITERATIONS);
+			print(depth, "cached", CACHED_ITERATIONS);
+
+			for (int iteration = 0; iteration < WARMUP_ITERATIONS; iteration++)
+			{
+				run(createActivity(depth), 1);
+			}
+
+			nanos = bytes = 0;
+			for (int iteration = 0; iteration < WALK_ITERATIONS; iteration++)
+			{
+				run(createActivity(depth), 1);
+			}
+
+			print(depth, "walk", WALK_ITERATIONS);
+		}
+	}
+
+	/**
+	 * Resets the activity the given number of times, adding the time and allocations to the totals
+	 */
+	private static void run(Activity activity, int iterations)
+	{
+		for (int iteration = 0; iteration < iterations; iteration++)
+		{
+			final long startBytes = getAllocatedBytes();
+			final long start = System.nanoTime();
+
+			RefreshHelper.reset(activity);
+
+			nanos += System.nanoTime() - start;
+			bytes += getAllocatedBytes() - startBytes;
+		}
+	}
+
+	private static void print(int depth, String lookup, int iterations)
+	{
+		System.out.println(String.format("%-7d %-7d %-7s %12.2f %12s",
+			depth,
+			1 + (depth - 1) * (LEAVES_PER_LEVEL + 1),
+			lookup,
+			nanos / (double)iterations,
+			getAllocatedBytes() < 0 ? "n/a" : String.format("%.1f", bytes / (double)iterations)));
+	}
+
+	/**
+	 * @param depth The number of nested layouts in the content
+	 * @return A new activity whose decor has the content ahead of the action bar
+	 */
+	private static Activity createActivity(int depth)
+	{
+		Activity activity = new Activity();
+
+		ViewGroup content = new FrameLayout(activity);
+		ViewGroup parent = content;
+		for (int level = 1; level < depth; level++)
+		{
+			for (int leaf = 0; leaf < LEAVES_PER_LEVEL; leaf++)
+			{
+				parent.addView(new View(activity));
+			}
+
+			ViewGroup child = new FrameLayout(activity);
+			parent.addView(child);
+			parent = child;
+		}
+
+		activity.setContentView(content);
+
+		// Move the action bar after the content so the class name walk has to get past it
+		ViewGroup decor = (ViewGroup)activity.getWindow().getDecorView();
+		View bars = decor.getChildAt(0);
+		decor.removeView(bars);
+		decor.addView(bars);
+
+		return activity;
+	}
+
+	/**
+	 * @return The bytes allocated so far by the current thread, or -1 if the VM cannot tell
+	 */
+	private static long getAllocatedBytes()
+	{
+		if (bean instanceof com.sun.management.ThreadMXBean)
+		{
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)bean;
+			if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+			{
+				return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+
+		return -1;
+	}
+}
@@ -0,0 +1,148 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import java.io.IOException;
+
+import net.callumtaylor.swipetorefresh.view.RefreshableListView;
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+
+/**
+ * Replays the bundled touch streams through {@link RefreshableListView} with
+ * adapters of 10 up to 10 million rows, and reports the time, allocations,
+ * listener callbacks and adapter {@code getCount()} calls per touch event for
+ * each size.
+ *
+ * The list works out whether it is at the top when it scrolls or lays out, so
+ * the cost per event should not change with the size of the adapter, and the
+ * adapter should not be asked for its count while the touch streams are replayed.
+ *
+ * Run with ./gradlew :jvm:listSizeBenchmark
+ */
+public class ListSizeBenchmark
+{
+	private static final int WIDTH = 1200;
+	private static final int HEIGHT = 1700;
+
+	private static final int[] ROW_COUNTS = {10, 1000, 100000, 10000000};
+
+	private static final int WARMUP_ITERATIONS = 2000;
+	private static final int ITERATIONS = 10000;
+
+	public static void main(String[] args) throws IOException
+	{
+		System.out.println(String.format("%-20s %10s %10s %12s %16s %16s",
+			"stream", "rows", "ns/event", "bytes/event", "callbacks/event", "getCount/event"));
+
+		TouchStream scroll = PullBenchmark.loadResource("idle_scroll");
+		TouchStream pull = PullBenchmark.loadResource("pull_to_threshold");
+
+		// Warm every size up first so the smaller sizes are not measured while the JIT is still busy
+		for (int rows : ROW_COUNTS)
+		{
+			run(scroll, rows, false);
+			run(pull, rows, true);
+		}
+
+		for (int rows : ROW_COUNTS)
+		{
+			System.out.println(run(scroll, rows, false));
+			System.out.println(run(pull, rows, true));
+		}
+	}
+
+	/**
+	 * @return The results as a table row
+	 */
+	private static String run(TouchStream stream, int rows, boolean atTop)
+	{
+		Activity activity = new Activity();
+		RefreshableListView list = new RefreshableListView(activity);
+		list.layout(0, 0, WIDTH, HEIGHT);
+
+		CountingAdapter adapter = new CountingAdapter(rows);
+		list.setAdapter(adapter);
+
+		if (!atTop)
+		{
+			list.setSelectionFromTop(rows / 2, -20);
+		}
+
+		activity.setContentView(list);
+
+		RefreshMetricsRecorder recorder = new RefreshMetricsRecorder();
+		list.setOnOverScrollListener(recorder);
+
+		replay(stream, list, WARMUP_ITERATIONS);
+		recorder.reset();
+		stream.resetDispatchNanos();
+
+		final int startCalls = adapter.getCountCalls;
+		final long startBytes = PullBenchmark.getAllocatedBytes();
+
+		final long events = replay(stream, list, ITERATIONS);
+
+		final long bytes = PullBenchmark.getAllocatedBytes() - startBytes;
+		final int calls = adapter.getCountCalls - startCalls;
+
+		return String.format("%-20s %10d %10.2f %12s %16.3f %16.3f",
+			stream.getName(),
+			rows,
+			stream.getDispatchNanos() / (double)events,
+			startBytes < 0 ? "n/a" : String.format("%.3f", bytes / (double)events),
+			recorder.getCallbacksPerEvent(events),
+			calls / (double)events);
+	}
+
+	/**
+	 * @return The number of events dispatched
+	 */
+	private static long replay(TouchStream stream, RefreshableListView list, int iterations)
+	{
+		long events = 0;
+
+		for (int iteration = 0; iteration < iterations; iteration++)
+		{
+			events += stream.replay(list);
+			list.onRefreshComplete();
+		}
+
+		return events;
+	}
+
+	/**
+	 * Adapter of empty rows that counts how often it is asked for its size
+	 */
+	private static class CountingAdapter extends BaseAdapter
+	{
+		private final int count;
+		private int getCountCalls;
+
+		public CountingAdapter(int count)
+		{
+			this.count = count;
+		}
+
+		@Override public int getCount()
+		{
+			getCountCalls++;
+			return count;
+		}
+
+		@Override public Object getItem(int position)
+		{
+			return null;
+		}
+
+		@Override public long getItemId(int position)
+		{
+			return position;
+		}
+
+		@Override public View getView(int position, View convertView, ViewGroup parent)
+		{
+			return convertView != null ? convertView : new View(parent.getContext());
+		}
+	}
+}
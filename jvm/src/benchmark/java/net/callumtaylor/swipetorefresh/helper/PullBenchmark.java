@@ -0,0 +1,201 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import net.callumtaylor.swipetorefresh.view.RefreshableListView;
+import net.callumtaylor.swipetorefresh.view.RefreshableScrollView;
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+
+/**
+ * Replays sample touch streams through {@link RefreshableListView} and
+ * {@link RefreshableScrollView} and reports the time, allocations and listener
+ * callbacks per touch event for each one, with metrics off and on.
+ *
+ * The events go through each view's {@code dispatchTouchEvent} into its
+ * {@link RefreshDelegate}, so the view's gating, the batched history loop,
+ * progress coalescing and the metrics timing are all measured. The views run on
+ * the thin Android stubs of the jvm module, so the times show the library's own
+ * work rather than a device's; the allocations and callback counts carry over.
+ *
+ * The bundled streams cover scrolling content that is not at the top, a pull
+ * past the threshold and a pull that is cancelled by moving back up. Any
+ * stream files given as arguments are replayed as well, starting at the top.
+ *
+ * Run with ./gradlew :jvm:benchmark
+ */
+public class PullBenchmark
+{
+	private static final int WIDTH = 1200;
+	private static final int HEIGHT = 1700;
+
+	private static final int WARMUP_ITERATIONS = 5000;
+	private static final int ITERATIONS = 20000;
+
+	private static final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+	public static void main(String[] args) throws IOException
+	{
+		System.out.println(String.format("%-20s %-7s %-8s %10s %12s %16s %15s %16s",
+			"stream", "view", "metrics", "ns/event", "bytes/event", "callbacks/event", "progress/event", "coalesced/event"));
+
+		run(loadResource("idle_scroll"), false);
+		run(loadResource("pull_to_threshold"), true);
+		run(loadResource("cancel"), true);
+
+		for (String path : args)
+		{
+			File file = new File(path);
+			run(TouchStream.read(file.getName(), new FileInputStream(file)), true);
+		}
+	}
+
+	static TouchStream loadResource(String name) throws IOException
+	{
+		InputStream in = PullBenchmark.class.getResourceAsStream("/streams/" + name + ".txt");
+		if (in == null)
+		{
+			throw new IOException("missing stream " + name);
+		}
+
+		return TouchStream.read(name, in);
+	}
+
+	private static void run(TouchStream stream, boolean atTop)
+	{
+		for (boolean metrics : new boolean[]{false, true})
+		{
+			Activity activity = new Activity();
+			RefreshableListView list = new RefreshableListView(activity);
+			list.layout(0, 0, WIDTH, HEIGHT);
+			list.setAdapter(new RowAdapter(1000));
+
+			if (!atTop)
+			{
+				list.setSelectionFromTop(500, -20);
+			}
+
+			activity.setContentView(list);
+			run(stream, "list", list, list.refreshDelegate, metrics);
+
+			activity = new Activity();
+			RefreshableScrollView scroll = new RefreshableScrollView(activity);
+			View content = new View(activity);
+			content.layout(0, 0, WIDTH, HEIGHT * 10);
+			scroll.addView(content);
+			scroll.layout(0, 0, WIDTH, HEIGHT);
+
+			if (!atTop)
+			{
+				scroll.scrollTo(0, HEIGHT * 4);
+			}
+
+			activity.setContentView(scroll);
+			run(stream, "scroll", scroll, scroll.refreshDelegate, metrics);
+		}
+	}
+
+	private static void run(TouchStream stream, String viewName, View view, RefreshDelegate delegate, boolean metrics)
+	{
+		RefreshMetricsRecorder recorder = new RefreshMetricsRecorder();
+		delegate.setOnOverScrollListener(recorder);
+		delegate.setRefreshMetrics(metrics ? recorder : null);
+
+		replay(stream, view, delegate, WARMUP_ITERATIONS);
+		recorder.reset();
+		stream.resetDispatchNanos();
+
+		final int startCoalesced = delegate.getCoalescedEventCount();
+		final long startBytes = getAllocatedBytes();
+
+		final long events = replay(stream, view, delegate, ITERATIONS);
+
+		final long bytes = getAllocatedBytes() - startBytes;
+		final int coalesced = delegate.getCoalescedEventCount() - startCoalesced;
+
+		System.out.println(String.format("%-20s %-7s %-8s %10.2f %12s %16.3f %15.3f %16.3f",
+			stream.getName(),
+			viewName,
+			metrics ? "on" : "off",
+			stream.getDispatchNanos() / (double)events,
+			startBytes < 0 ? "n/a" : String.format("%.3f", bytes / (double)events),
+			recorder.getCallbacksPerEvent(events),
+			recorder.getProgressCount() / (double)events,
+			coalesced / (double)events));
+	}
+
+	/**
+	 * @return The number of events dispatched
+	 */
+	private static long replay(TouchStream stream, View view, RefreshDelegate delegate, int iterations)
+	{
+		long events = 0;
+
+		for (int iteration = 0; iteration < iterations; iteration++)
+		{
+			events += stream.replay(view);
+
+			// A triggered pull stays refreshing until the helper finishes it
+			delegate.onRefreshComplete();
+		}
+
+		return events;
+	}
+
+	/**
+	 * @return The bytes allocated so far by the current thread, or -1 if the VM cannot tell
+	 */
+	static long getAllocatedBytes()
+	{
+		if (bean instanceof com.sun.management.ThreadMXBean)
+		{
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)bean;
+			if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+			{
+				return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Adapter of empty rows
+	 */
+	private static class RowAdapter extends BaseAdapter
+	{
+		private final int count;
+
+		public RowAdapter(int count)
+		{
+			this.count = count;
+		}
+
+		@Override public int getCount()
+		{
+			return count;
+		}
+
+		@Override public Object getItem(int position)
+		{
+			return null;
+		}
+
+		@Override public long getItemId(int position)
+		{
+			return position;
+		}
+
+		@Override public View getView(int position, View convertView, ViewGroup parent)
+		{
+			return convertView != null ? convertView : new View(parent.getContext());
+		}
+	}
+}
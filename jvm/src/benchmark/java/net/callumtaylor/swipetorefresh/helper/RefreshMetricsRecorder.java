@@ -0,0 +1,165 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import net.callumtaylor.swipetorefresh.view.OnOverScrollListener;
+
+/**
+ * Keeps running totals of everything the pull gesture reports. It is set as
+ * both the {@link OnOverScrollListener} and the {@link RefreshMetrics} of the
+ * views replayed in {@link PullBenchmark}, standing in for a
+ * {@link RefreshHelper}. Call {@link RefreshMetricsRecorder#reset()} between
+ * scenarios.
+ */
+public class RefreshMetricsRecorder implements RefreshMetrics, OnOverScrollListener
+{
+	private long touchEventCount, touchNanos;
+	private long pullStartedCount, progressCount;
+	private int refreshCount, resetCount;
+	private int thresholdCount, pullResetCount, suppressedCount, completedCount;
+	private long overlayFrameCount, overlayFrameNanos, maxOverlayFrameNanos;
+
+	@Override public void onBeginRefresh()
+	{
+		pullStartedCount++;
+	}
+
+	@Override public void onRefreshScrolledPercentage(float percentage)
+	{
+		progressCount++;
+	}
+
+	@Override public void onRefresh()
+	{
+		refreshCount++;
+	}
+
+	@Override public void onReset()
+	{
+		resetCount++;
+	}
+
+	@Override public void onTouchHandled(int action, long durationNanos)
+	{
+		touchEventCount++;
+		touchNanos += durationNanos;
+	}
+
+	@Override public void onPullThresholdReached(long durationMillis)
+	{
+		thresholdCount++;
+	}
+
+	@Override public void onPullReset()
+	{
+		pullResetCount++;
+	}
+
+	@Override public void onRefreshSuppressed()
+	{
+		suppressedCount++;
+	}
+
+	@Override public void onOverlayFrame(long frameIntervalNanos)
+	{
+		overlayFrameCount++;
+		overlayFrameNanos += frameIntervalNanos;
+		maxOverlayFrameNanos = Math.max(maxOverlayFrameNanos, frameIntervalNanos);
+	}
+
+	@Override public void onRefreshCompleted(long durationMillis)
+	{
+		completedCount++;
+	}
+
+	public void reset()
+	{
+		touchEventCount = touchNanos = 0;
+		pullStartedCount = progressCount = 0;
+		refreshCount = resetCount = 0;
+		thresholdCount = pullResetCount = suppressedCount = completedCount = 0;
+		overlayFrameCount = overlayFrameNanos = maxOverlayFrameNanos = 0;
+	}
+
+	public long getTouchEventCount()
+	{
+		return touchEventCount;
+	}
+
+	/**
+	 * @return The average time spent in the delegate per touch event, in nanoseconds
+	 */
+	public long getNanosPerEvent()
+	{
+		return touchEventCount == 0 ? 0 : touchNanos / touchEventCount;
+	}
+
+	/**
+	 * @return The total number of listener callbacks: pull starts, progress updates,
+	 * refreshes and resets
+	 */
+	public long getCallbackCount()
+	{
+		return pullStartedCount + progressCount + refreshCount + resetCount;
+	}
+
+	/**
+	 * @param eventCount The number of events replayed
+	 * @return The number of listener callbacks per event
+	 */
+	public float getCallbacksPerEvent(long eventCount)
+	{
+		return eventCount == 0 ? 0 : getCallbackCount() / (float)eventCount;
+	}
+
+	public long getPullStartedCount()
+	{
+		return pullStartedCount;
+	}
+
+	public long getProgressCount()
+	{
+		return progressCount;
+	}
+
+	public int getThresholdCount()
+	{
+		return thresholdCount;
+	}
+
+	public int getPullResetCount()
+	{
+		return pullResetCount;
+	}
+
+	public int getSuppressedCount()
+	{
+		return suppressedCount;
+	}
+
+	public int getRefreshCount()
+	{
+		return refreshCount;
+	}
+
+	public int getResetCount()
+	{
+		return resetCount;
+	}
+
+	public int getCompletedCount()
+	{
+		return completedCount;
+	}
+
+	/**
+	 * @return The average overlay frame interval, in nanoseconds
+	 */
+	public long getAverageOverlayFrameNanos()
+	{
+		return overlayFrameCount == 0 ? 0 : overlayFrameNanos / overlayFrameCount;
+	}
+
+	public long getMaxOverlayFrameNanos()
+	{
+		return maxOverlayFrameNanos;
+	}
+}
@@ -0,0 +1,189 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A touch stream, one sample per line as {@code action y time}, where
+ * action is one of DOWN, MOVE, UP or CANCEL, y is in pixels and time is in
+ * milliseconds. Blank lines and lines starting with # are ignored.
+ *
+ * The stream is replayed into a view as the input system delivers it: move
+ * samples falling in the same 16ms frame are batched into one
+ * {@link MotionEvent}, the earlier ones in its history, and the main looper is
+ * run up to each event so the frame callbacks in between fire as on a device.
+ */
+public class TouchStream
+{
+	private static final long FRAME_MILLIS = 16;
+	private static final float X = 300f;
+
+	private final String name;
+	private final int[] actions;
+	private final float[] positions;
+	private final long[] times;
+	private long dispatchNanos;
+
+	private TouchStream(String name, int[] actions, float[] positions, long[] times)
+	{
+		this.name = name;
+		this.actions = actions;
+		this.positions = positions;
+		this.times = times;
+	}
+
+	/**
+	 * Reads a stream and closes the input
+	 * @param name
+	 * @param in
+	 * @return The parsed stream
+	 * @throws IOException
+	 */
+	public static TouchStream read(String name, InputStream in) throws IOException
+	{
+		List<String[]> samples = new ArrayList<String[]>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+
+		try
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				line = line.trim();
+				if (line.length() == 0 || line.startsWith("#"))
+				{
+					continue;
+				}
+
+				String[] parts = line.split("\\s+");
+				if (parts.length != 3)
+				{
+					throw new IOException(name + ": expected 'action y time' but was '" + line + "'");
+				}
+
+				samples.add(parts);
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+
+		int[] actions = new int[samples.size()];
+		float[] positions = new float[samples.size()];
+		long[] times = new long[samples.size()];
+
+		for (int index = 0; index < samples.size(); index++)
+		{
+			String[] parts = samples.get(index);
+
+			try
+			{
+				actions[index] = parseAction(parts[0]);
+				positions[index] = Float.parseFloat(parts[1]);
+				times[index] = Long.parseLong(parts[2]);
+			}
+			catch (IllegalArgumentException e)
+			{
+				throw new IOException(name + ": bad sample on line " + (index + 1) + ", " + e.getMessage());
+			}
+		}
+
+		return new TouchStream(name, actions, positions, times);
+	}
+
+	private static int parseAction(String action)
+	{
+		if ("DOWN".equals(action)) return MotionEvent.ACTION_DOWN;
+		if ("UP".equals(action)) return MotionEvent.ACTION_UP;
+		if ("MOVE".equals(action)) return MotionEvent.ACTION_MOVE;
+		if ("CANCEL".equals(action)) return MotionEvent.ACTION_CANCEL;
+
+		throw new IllegalArgumentException("unknown action " + action);
+	}
+
+	/**
+	 * Dispatches the whole stream to the view, starting on the next frame, and runs
+	 * the looper for one more frame after the last event
+	 * @param view
+	 * @return The number of events dispatched
+	 */
+	public int replay(View view)
+	{
+		final Looper looper = Looper.getMainLooper();
+		looper.idleFor(FRAME_MILLIS - SystemClock.uptimeMillis() % FRAME_MILLIS);
+
+		final long base = SystemClock.uptimeMillis();
+		long downTime = base;
+		int events = 0;
+		int index = 0;
+
+		while (index < actions.length)
+		{
+			final int action = actions[index];
+			final long frame = (base + times[index]) / FRAME_MILLIS;
+
+			if (action == MotionEvent.ACTION_DOWN)
+			{
+				downTime = base + times[index];
+			}
+
+			MotionEvent event = MotionEvent.obtain(downTime, base + times[index], action, X, positions[index], 0);
+			index++;
+
+			while (action == MotionEvent.ACTION_MOVE && index < actions.length
+			&& actions[index] == MotionEvent.ACTION_MOVE && (base + times[index]) / FRAME_MILLIS == frame)
+			{
+				event.addBatch(base + times[index], X, positions[index], 1f, 1f, 0);
+				index++;
+			}
+
+			looper.idleFor(Math.max(0, event.getEventTime() - SystemClock.uptimeMillis()));
+
+			final long start = System.nanoTime();
+			view.dispatchTouchEvent(event);
+			dispatchNanos += System.nanoTime() - start;
+
+			event.recycle();
+			events++;
+		}
+
+		looper.idleFor(FRAME_MILLIS);
+		return events;
+	}
+
+	/**
+	 * @return The time spent in {@link View#dispatchTouchEvent(MotionEvent)} since the last reset
+	 */
+	public long getDispatchNanos()
+	{
+		return dispatchNanos;
+	}
+
+	public void resetDispatchNanos()
+	{
+		dispatchNanos = 0;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * @return The number of samples in the stream
+	 */
+	public int size()
+	{
+		return actions.length;
+	}
+}
@@ -0,0 +1,52 @@
+package android.animation;
+
+import java.util.ArrayList;
+
+public abstract class Animator
+{
+	ArrayList<AnimatorListener> listeners;
+
+	public abstract void start();
+	public abstract void cancel();
+	public abstract void end();
+	public abstract boolean isRunning();
+	public abstract Animator setDuration(long duration);
+	public abstract long getDuration();
+	public abstract void setInterpolator(TimeInterpolator value);
+
+	public boolean isStarted()
+	{
+		return isRunning();
+	}
+
+	public void addListener(AnimatorListener listener)
+	{
+		if (listeners == null)
+		{
+			listeners = new ArrayList<AnimatorListener>();
+		}
+
+		listeners.add(listener);
+	}
+
+	public void removeListener(AnimatorListener listener)
+	{
+		if (listeners != null)
+		{
+			listeners.remove(listener);
+		}
+	}
+
+	public ArrayList<AnimatorListener> getListeners()
+	{
+		return listeners;
+	}
+
+	public static interface AnimatorListener
+	{
+		void onAnimationStart(Animator animation);
+		void onAnimationEnd(Animator animation);
+		void onAnimationCancel(Animator animation);
+		void onAnimationRepeat(Animator animation);
+	}
+}
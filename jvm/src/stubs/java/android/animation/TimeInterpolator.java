@@ -0,0 +1,6 @@
+package android.animation;
+
+public interface TimeInterpolator
+{
+	float getInterpolation(float input);
+}
@@ -0,0 +1,210 @@
+package android.animation;
+
+import java.util.ArrayList;
+
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+/**
+ * Follows the framework's callback order: starting sets the first value and tells the
+ * listeners straight away, frames then run on the {@link Choreographer}, cancelling
+ * calls onAnimationCancel before onAnimationEnd, and ending an animator that was never
+ * started starts it first. Listeners are called by index rather than from a copy of
+ * the list, so the stub adds no allocations of its own.
+ */
+public class ValueAnimator extends Animator
+{
+	private float[] values;
+	private long duration = 300;
+	private TimeInterpolator interpolator;
+	private ArrayList<AnimatorUpdateListener> updateListeners;
+
+	private boolean started, running;
+	private long startTime;
+	private float fraction, animatedFraction;
+	private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback()
+	{
+		@Override public void doFrame(long frameTimeNanos)
+		{
+			onFrame(frameTimeNanos / 1000000L);
+		}
+	};
+
+	public static ValueAnimator ofFloat(float... values)
+	{
+		ValueAnimator animator = new ValueAnimator();
+		animator.setFloatValues(values);
+		return animator;
+	}
+
+	public void setFloatValues(float... values)
+	{
+		this.values = values;
+	}
+
+	@Override public ValueAnimator setDuration(long duration)
+	{
+		this.duration = duration;
+		return this;
+	}
+
+	@Override public long getDuration()
+	{
+		return duration;
+	}
+
+	@Override public void setInterpolator(TimeInterpolator value)
+	{
+		interpolator = value;
+	}
+
+	public void addUpdateListener(AnimatorUpdateListener listener)
+	{
+		if (updateListeners == null)
+		{
+			updateListeners = new ArrayList<AnimatorUpdateListener>();
+		}
+
+		updateListeners.add(listener);
+	}
+
+	public float getAnimatedFraction()
+	{
+		return animatedFraction;
+	}
+
+	public Object getAnimatedValue()
+	{
+		return values[0] + (values[values.length - 1] - values[0]) * animatedFraction;
+	}
+
+	@Override public void start()
+	{
+		cancelFrames();
+
+		started = true;
+		running = true;
+		startTime = SystemClock.uptimeMillis();
+
+		notifyStart();
+		animateValue(0f);
+		Choreographer.getInstance().postFrameCallback(frameCallback);
+	}
+
+	@Override public void cancel()
+	{
+		if (started)
+		{
+			if (listeners != null)
+			{
+				for (int index = 0; index < listeners.size(); index++)
+				{
+					listeners.get(index).onAnimationCancel(this);
+				}
+			}
+
+			endAnimation();
+		}
+	}
+
+	@Override public void end()
+	{
+		if (!started)
+		{
+			started = true;
+			running = true;
+			notifyStart();
+		}
+
+		animateValue(1f);
+		endAnimation();
+	}
+
+	@Override public boolean isRunning()
+	{
+		return running;
+	}
+
+	@Override public boolean isStarted()
+	{
+		return started;
+	}
+
+	private void onFrame(long frameTime)
+	{
+		if (!started)
+		{
+			return;
+		}
+
+		final float fraction = duration > 0 ? Math.min(1f, (frameTime - startTime) / (float)duration) : 1f;
+		animateValue(fraction);
+
+		if (fraction >= 1f)
+		{
+			endAnimation();
+		}
+		else
+		{
+			Choreographer.getInstance().postFrameCallback(frameCallback);
+		}
+	}
+
+	private void animateValue(float fraction)
+	{
+		this.fraction = fraction;
+		animatedFraction = interpolator == null ? fraction : interpolator.getInterpolation(fraction);
+
+		if (updateListeners != null)
+		{
+			for (int index = 0; index < updateListeners.size(); index++)
+			{
+				updateListeners.get(index).onAnimationUpdate(this);
+			}
+		}
+	}
+
+	private void notifyStart()
+	{
+		if (listeners != null)
+		{
+			for (int index = 0; index < listeners.size(); index++)
+			{
+				listeners.get(index).onAnimationStart(this);
+			}
+		}
+	}
+
+	private void endAnimation()
+	{
+		cancelFrames();
+		started = false;
+		running = false;
+
+		if (listeners != null)
+		{
+			for (int index = 0; index < listeners.size(); index++)
+			{
+				listeners.get(index).onAnimationEnd(this);
+			}
+		}
+	}
+
+	private void cancelFrames()
+	{
+		Choreographer.getInstance().removeFrameCallback(frameCallback);
+	}
+
+	/**
+	 * @return The fraction of the duration that has passed, before interpolation
+	 */
+	public float getCurrentFraction()
+	{
+		return fraction;
+	}
+
+	public static interface AnimatorUpdateListener
+	{
+		void onAnimationUpdate(ValueAnimator animation);
+	}
+}
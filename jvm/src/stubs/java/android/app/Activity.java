@@ -0,0 +1,89 @@
+package android.app;
+
+import android.content.Context;
+import android.os.Handler;
+import android.view.View;
+import android.view.Window;
+
+/**
+ * An activity whose window already holds an action bar. Every activity shares one
+ * application. Call {@link Activity#performDestroy()} to run it through destruction.
+ */
+public class Activity extends Context
+{
+	private static final Application application = new Application();
+
+	private final Window window;
+	private final Handler handler = new Handler();
+	private boolean finishing, destroyed;
+
+	public Activity()
+	{
+		window = new Window(this);
+	}
+
+	public final Application getApplication()
+	{
+		return application;
+	}
+
+	@Override public Context getApplicationContext()
+	{
+		return application;
+	}
+
+	public Window getWindow()
+	{
+		return window;
+	}
+
+	public void setContentView(View view)
+	{
+		window.setContentView(view);
+	}
+
+	public View findViewById(int id)
+	{
+		return window.getDecorView().findViewById(id);
+	}
+
+	public final void runOnUiThread(Runnable action)
+	{
+		handler.post(action);
+	}
+
+	public void finish()
+	{
+		finishing = true;
+	}
+
+	public boolean isFinishing()
+	{
+		return finishing;
+	}
+
+	public boolean isDestroyed()
+	{
+		return destroyed;
+	}
+
+	protected void onCreate(android.os.Bundle savedInstanceState)
+	{
+	}
+
+	protected void onDestroy()
+	{
+		application.dispatchActivityDestroyed(this);
+	}
+
+	/**
+	 * Stub only. Destroys the activity and detaches its window.
+	 */
+	public void performDestroy()
+	{
+		finishing = true;
+		destroyed = true;
+		onDestroy();
+		window.destroy();
+	}
+}
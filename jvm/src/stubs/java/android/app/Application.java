@@ -0,0 +1,49 @@
+package android.app;
+
+import java.util.ArrayList;
+
+import android.content.Context;
+import android.os.Bundle;
+
+public class Application extends Context
+{
+	private final ArrayList<ActivityLifecycleCallbacks> callbacks = new ArrayList<ActivityLifecycleCallbacks>();
+
+	public void registerActivityLifecycleCallbacks(ActivityLifecycleCallbacks callback)
+	{
+		callbacks.add(callback);
+	}
+
+	public void unregisterActivityLifecycleCallbacks(ActivityLifecycleCallbacks callback)
+	{
+		callbacks.remove(callback);
+	}
+
+	/**
+	 * Stub only
+	 * @return The number of registered callbacks
+	 */
+	public int getActivityLifecycleCallbackCount()
+	{
+		return callbacks.size();
+	}
+
+	void dispatchActivityDestroyed(Activity activity)
+	{
+		for (Object callback : callbacks.toArray())
+		{
+			((ActivityLifecycleCallbacks)callback).onActivityDestroyed(activity);
+		}
+	}
+
+	public interface ActivityLifecycleCallbacks
+	{
+		void onActivityCreated(Activity activity, Bundle savedInstanceState);
+		void onActivityStarted(Activity activity);
+		void onActivityResumed(Activity activity);
+		void onActivityPaused(Activity activity);
+		void onActivityStopped(Activity activity);
+		void onActivitySaveInstanceState(Activity activity, Bundle outState);
+		void onActivityDestroyed(Activity activity);
+	}
+}
@@ -0,0 +1,30 @@
+package android.app;
+
+import android.view.View;
+
+public class Fragment
+{
+	private Activity activity;
+	private View view;
+
+	public final Activity getActivity()
+	{
+		return activity;
+	}
+
+	public View getView()
+	{
+		return view;
+	}
+
+	/**
+	 * Stub only
+	 * @param activity
+	 * @param view
+	 */
+	public void attach(Activity activity, View view)
+	{
+		this.activity = activity;
+		this.view = view;
+	}
+}
@@ -0,0 +1,113 @@
+package android.content;
+
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.os.Looper;
+import android.util.AttributeSet;
+import android.view.LayoutInflater;
+import android.view.WindowManager;
+
+/**
+ * A context for the library's own package. Every context shares the same
+ * resources unless given its own.
+ */
+public class Context
+{
+	public static final String WINDOW_SERVICE = "window";
+	public static final String LAYOUT_INFLATER_SERVICE = "layout_inflater";
+
+	private static final String PACKAGE_NAME = "net.callumtaylor.pulltorefresh";
+	private static Resources sharedResources;
+
+	private Resources resources;
+	private WindowManager windowManager;
+	private LayoutInflater inflater;
+
+	public Context()
+	{
+	}
+
+	/**
+	 * Stub only
+	 * @param resources The resources for this context alone, such as for another configuration
+	 */
+	public Context(Resources resources)
+	{
+		this.resources = resources;
+	}
+
+	public Resources getResources()
+	{
+		if (resources == null)
+		{
+			if (sharedResources == null)
+			{
+				sharedResources = new Resources(PACKAGE_NAME);
+			}
+
+			resources = sharedResources;
+		}
+
+		return resources;
+	}
+
+	public String getPackageName()
+	{
+		return PACKAGE_NAME;
+	}
+
+	public Context getApplicationContext()
+	{
+		return this;
+	}
+
+	public Looper getMainLooper()
+	{
+		return Looper.getMainLooper();
+	}
+
+	public Object getSystemService(String name)
+	{
+		if (WINDOW_SERVICE.equals(name))
+		{
+			if (windowManager == null)
+			{
+				windowManager = new WindowManager(getResources());
+			}
+
+			return windowManager;
+		}
+
+		if (LAYOUT_INFLATER_SERVICE.equals(name))
+		{
+			if (inflater == null)
+			{
+				inflater = new LayoutInflater(this);
+			}
+
+			return inflater;
+		}
+
+		return null;
+	}
+
+	public final CharSequence getText(int resId)
+	{
+		return getResources().getText(resId);
+	}
+
+	public final String getString(int resId)
+	{
+		return getResources().getString(resId);
+	}
+
+	public final TypedArray obtainStyledAttributes(AttributeSet set, int[] attrs, int defStyleAttr, int defStyleRes)
+	{
+		return TypedArray.obtain(getResources(), set, attrs);
+	}
+
+	public final TypedArray obtainStyledAttributes(AttributeSet set, int[] attrs)
+	{
+		return TypedArray.obtain(getResources(), set, attrs);
+	}
+}
@@ -0,0 +1,48 @@
+package android.content.res;
+
+public final class Configuration
+{
+	public static final int ORIENTATION_PORTRAIT = 1;
+	public static final int ORIENTATION_LANDSCAPE = 2;
+
+	public int orientation = ORIENTATION_PORTRAIT;
+	public int screenWidthDp;
+	public int screenHeightDp;
+	public int densityDpi;
+
+	public Configuration()
+	{
+	}
+
+	public Configuration(Configuration o)
+	{
+		setTo(o);
+	}
+
+	public void setTo(Configuration o)
+	{
+		orientation = o.orientation;
+		screenWidthDp = o.screenWidthDp;
+		screenHeightDp = o.screenHeightDp;
+		densityDpi = o.densityDpi;
+	}
+
+	@Override public boolean equals(Object o)
+	{
+		if (!(o instanceof Configuration))
+		{
+			return false;
+		}
+
+		Configuration other = (Configuration)o;
+		return orientation == other.orientation
+			&& screenWidthDp == other.screenWidthDp
+			&& screenHeightDp == other.screenHeightDp
+			&& densityDpi == other.densityDpi;
+	}
+
+	@Override public int hashCode()
+	{
+		return ((orientation * 31 + screenWidthDp) * 31 + screenHeightDp) * 31 + densityDpi;
+	}
+}
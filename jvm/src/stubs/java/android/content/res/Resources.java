@@ -0,0 +1,197 @@
+package android.content.res;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import android.util.DisplayMetrics;
+
+/**
+ * Resolves resources through the package's R class, reading values and layouts
+ * from the res directory on the classpath. Defaults to a 1200x1920 xhdpi display
+ * in portrait, such as a Nexus 7.
+ */
+public class Resources
+{
+	private final String packageName;
+	private final DisplayMetrics metrics = new DisplayMetrics();
+	private final Configuration configuration = new Configuration();
+	private Map<String, String> strings;
+	private int[] stringIds = new int[0];
+	private String[] stringValues = new String[0];
+
+	public Resources(String packageName)
+	{
+		this.packageName = packageName;
+
+		metrics.setToDefaults();
+		configuration.densityDpi = metrics.densityDpi;
+		configuration.screenWidthDp = (int)(metrics.widthPixels / metrics.density);
+		configuration.screenHeightDp = (int)(metrics.heightPixels / metrics.density);
+	}
+
+	public DisplayMetrics getDisplayMetrics()
+	{
+		return metrics;
+	}
+
+	public Configuration getConfiguration()
+	{
+		return configuration;
+	}
+
+	public void updateConfiguration(Configuration config, DisplayMetrics metrics)
+	{
+		if (config != null)
+		{
+			configuration.setTo(config);
+		}
+
+		if (metrics != null)
+		{
+			this.metrics.setTo(metrics);
+		}
+	}
+
+	public int getIdentifier(String name, String defType, String defPackage)
+	{
+		try
+		{
+			Field field = Class.forName(defPackage + ".R$" + defType).getField(name);
+			return field.getInt(null);
+		}
+		catch (Exception e)
+		{
+			return 0;
+		}
+	}
+
+	public String getResourceEntryName(int resid)
+	{
+		return getEntry(resid)[1];
+	}
+
+	public String getResourceTypeName(int resid)
+	{
+		return getEntry(resid)[0];
+	}
+
+	private String[] getEntry(int resid)
+	{
+		try
+		{
+			for (Class<?> type : Class.forName(packageName + ".R").getClasses())
+			{
+				for (Field field : type.getFields())
+				{
+					if (field.getType() == int.class && field.getInt(null) == resid)
+					{
+						return new String[]{type.getSimpleName(), field.getName()};
+					}
+				}
+			}
+		}
+		catch (Exception e)
+		{
+			throw new NotFoundException("Unable to look up resource 0x" + Integer.toHexString(resid));
+		}
+
+		throw new NotFoundException("Resource ID #0x" + Integer.toHexString(resid));
+	}
+
+	public CharSequence getText(int id)
+	{
+		return getString(id);
+	}
+
+	/**
+	 * Looked up strings are kept by id, so getting one again does not allocate as on a device
+	 */
+	public String getString(int id)
+	{
+		for (int index = 0; index < stringIds.length; index++)
+		{
+			if (stringIds[index] == id)
+			{
+				return stringValues[index];
+			}
+		}
+
+		String value = loadStrings().get(getResourceEntryName(id));
+		if (value == null)
+		{
+			throw new NotFoundException("String resource ID #0x" + Integer.toHexString(id));
+		}
+
+		int[] ids = new int[stringIds.length + 1];
+		String[] values = new String[ids.length];
+		System.arraycopy(stringIds, 0, ids, 0, stringIds.length);
+		System.arraycopy(stringValues, 0, values, 0, stringValues.length);
+		ids[stringIds.length] = id;
+		values[stringValues.length] = value;
+		stringIds = ids;
+		stringValues = values;
+
+		return value;
+	}
+
+	public float getDimension(int id)
+	{
+		return 48 * metrics.density;
+	}
+
+	public int getDimensionPixelSize(int id)
+	{
+		return (int)getDimension(id);
+	}
+
+	private Map<String, String> loadStrings()
+	{
+		if (strings == null)
+		{
+			strings = new HashMap<String, String>();
+
+			InputStream in = Resources.class.getResourceAsStream("/values/strings.xml");
+			if (in != null)
+			{
+				try
+				{
+					Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+					NodeList nodes = document.getElementsByTagName("string");
+					for (int index = 0; index < nodes.getLength(); index++)
+					{
+						Element element = (Element)nodes.item(index);
+						strings.put(element.getAttribute("name"), element.getTextContent());
+					}
+
+					in.close();
+				}
+				catch (Exception e)
+				{
+					throw new NotFoundException("Unable to read strings.xml: " + e);
+				}
+			}
+		}
+
+		return strings;
+	}
+
+	public static class NotFoundException extends RuntimeException
+	{
+		public NotFoundException()
+		{
+		}
+
+		public NotFoundException(String name)
+		{
+			super(name);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package android.content.res;
+
+import android.util.AttributeSet;
+
+/**
+ * Reads the styleable's attributes straight from the attribute set by name.
+ * Themes and styles are not resolved, so missing attributes take their default.
+ */
+public class TypedArray
+{
+	private final String[] values;
+
+	TypedArray(String[] values)
+	{
+		this.values = values;
+	}
+
+	/**
+	 * Stub only
+	 * @param resources
+	 * @param set
+	 * @param attrs
+	 * @return The values of the attributes found in the set
+	 */
+	public static TypedArray obtain(Resources resources, AttributeSet set, int[] attrs)
+	{
+		String[] values = new String[attrs.length];
+
+		if (set != null)
+		{
+			for (int index = 0; index < attrs.length; index++)
+			{
+				String name = resources.getResourceEntryName(attrs[index]);
+				for (int attribute = 0; attribute < set.getAttributeCount(); attribute++)
+				{
+					if (name.equals(set.getAttributeName(attribute)))
+					{
+						values[index] = set.getAttributeValue(attribute);
+					}
+				}
+			}
+		}
+
+		return new TypedArray(values);
+	}
+
+	public boolean hasValue(int index)
+	{
+		return values[index] != null;
+	}
+
+	public boolean getBoolean(int index, boolean defValue)
+	{
+		return values[index] == null ? defValue : Boolean.parseBoolean(values[index]);
+	}
+
+	public int getColor(int index, int defValue)
+	{
+		if (values[index] == null || !values[index].startsWith("#"))
+		{
+			return defValue;
+		}
+
+		return (int)Long.parseLong(values[index].substring(1), 16);
+	}
+
+	public int getInt(int index, int defValue)
+	{
+		return values[index] == null ? defValue : Integer.parseInt(values[index]);
+	}
+
+	public String getString(int index)
+	{
+		return values[index];
+	}
+
+	public void recycle()
+	{
+	}
+}
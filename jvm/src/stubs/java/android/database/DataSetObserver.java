@@ -0,0 +1,12 @@
+package android.database;
+
+public abstract class DataSetObserver
+{
+	public void onChanged()
+	{
+	}
+
+	public void onInvalidated()
+	{
+	}
+}
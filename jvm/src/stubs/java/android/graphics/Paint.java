@@ -0,0 +1,16 @@
+package android.graphics;
+
+public class Paint
+{
+	private int color = 0xff000000;
+
+	public void setColor(int color)
+	{
+		this.color = color;
+	}
+
+	public int getColor()
+	{
+		return color;
+	}
+}
@@ -0,0 +1,28 @@
+package android.os;
+
+public class Build
+{
+	public static class VERSION
+	{
+		/**
+		 * Not final as on a device, so tests can run the code paths of older releases.
+		 * Defaults to the compile SDK.
+		 */
+		public static int SDK_INT = VERSION_CODES.KITKAT;
+	}
+
+	public static class VERSION_CODES
+	{
+		public static final int GINGERBREAD = 9;
+		public static final int GINGERBREAD_MR1 = 10;
+		public static final int HONEYCOMB = 11;
+		public static final int HONEYCOMB_MR1 = 12;
+		public static final int HONEYCOMB_MR2 = 13;
+		public static final int ICE_CREAM_SANDWICH = 14;
+		public static final int ICE_CREAM_SANDWICH_MR1 = 15;
+		public static final int JELLY_BEAN = 16;
+		public static final int JELLY_BEAN_MR1 = 17;
+		public static final int JELLY_BEAN_MR2 = 18;
+		public static final int KITKAT = 19;
+	}
+}
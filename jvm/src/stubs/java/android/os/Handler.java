@@ -0,0 +1,57 @@
+package android.os;
+
+public class Handler
+{
+	private final Looper looper;
+
+	public Handler()
+	{
+		this(Looper.myLooper());
+	}
+
+	public Handler(Looper looper)
+	{
+		this.looper = looper;
+	}
+
+	public final Looper getLooper()
+	{
+		return looper;
+	}
+
+	public final boolean post(Runnable r)
+	{
+		return postAtTime(r, SystemClock.uptimeMillis());
+	}
+
+	public final boolean postDelayed(Runnable r, long delayMillis)
+	{
+		return postAtTime(r, SystemClock.uptimeMillis() + Math.max(0, delayMillis));
+	}
+
+	public final boolean postAtTime(Runnable r, long uptimeMillis)
+	{
+		looper.queue.enqueue(this, r, uptimeMillis);
+		return true;
+	}
+
+	public final void removeCallbacks(Runnable r)
+	{
+		looper.queue.remove(this, r);
+	}
+
+	public final void removeCallbacksAndMessages(Object token)
+	{
+		looper.queue.remove(this, null);
+	}
+
+	/**
+	 * Stub only
+	 * @param r
+	 * @return true if the task is waiting to run
+	 */
+	public final boolean hasCallbacks(Runnable r)
+	{
+		return looper.queue.has(this, r);
+	}
+}
@@ -0,0 +1,52 @@
+package android.os;
+
+/**
+ * A single main looper. Nothing runs by itself: call {@link Looper#idle()} or
+ * {@link Looper#idleFor(long)} to run the tasks that have fallen due.
+ */
+public final class Looper
+{
+	private static final Looper main = new Looper();
+
+	final MessageQueue queue = new MessageQueue();
+
+	private Looper()
+	{
+	}
+
+	public static Looper getMainLooper()
+	{
+		return main;
+	}
+
+	public static Looper myLooper()
+	{
+		return main;
+	}
+
+	/**
+	 * Stub only. Runs every task due at the current time.
+	 */
+	public void idle()
+	{
+		queue.runUntil(SystemClock.uptimeMillis());
+	}
+
+	/**
+	 * Stub only. Moves the clock forward, running tasks as they fall due.
+	 * @param millis
+	 */
+	public void idleFor(long millis)
+	{
+		queue.runUntil(SystemClock.uptimeMillis() + millis);
+	}
+
+	/**
+	 * Stub only
+	 * @return true if no task is due at the current time
+	 */
+	public boolean isIdle()
+	{
+		return queue.isIdle();
+	}
+}
@@ -0,0 +1,138 @@
+package android.os;
+
+/**
+ * Tasks ordered by the time they are due. Nodes are pooled so posting does not
+ * allocate once warmed up, as with {@code Message.obtain()} on a device.
+ */
+final class MessageQueue
+{
+	private static final class Node
+	{
+		Handler handler;
+		Runnable task;
+		long when;
+		Node next;
+	}
+
+	private Node head, pool;
+
+	void enqueue(Handler handler, Runnable task, long when)
+	{
+		Node node = pool;
+		if (node != null)
+		{
+			pool = node.next;
+		}
+		else
+		{
+			node = new Node();
+		}
+
+		node.handler = handler;
+		node.task = task;
+		node.when = when;
+		node.next = null;
+
+		if (head == null || when < head.when)
+		{
+			node.next = head;
+			head = node;
+			return;
+		}
+
+		Node previous = head;
+		while (previous.next != null && previous.next.when <= when)
+		{
+			previous = previous.next;
+		}
+
+		node.next = previous.next;
+		previous.next = node;
+	}
+
+	/**
+	 * Removes the handler's tasks, or only those running the given task if it is not null
+	 */
+	void remove(Handler handler, Runnable task)
+	{
+		Node previous = null;
+		Node node = head;
+
+		while (node != null)
+		{
+			Node next = node.next;
+
+			if (node.handler == handler && (task == null || node.task == task))
+			{
+				if (previous == null)
+				{
+					head = next;
+				}
+				else
+				{
+					previous.next = next;
+				}
+
+				recycle(node);
+			}
+			else
+			{
+				previous = node;
+			}
+
+			node = next;
+		}
+	}
+
+	boolean has(Handler handler, Runnable task)
+	{
+		for (Node node = head; node != null; node = node.next)
+		{
+			if (node.handler == handler && node.task == task)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	boolean isIdle()
+	{
+		return head == null || head.when > SystemClock.uptimeMillis();
+	}
+
+	/**
+	 * Runs every task due up to the given time in order, moving the clock to each one
+	 */
+	void runUntil(long time)
+	{
+		while (head != null && head.when <= time)
+		{
+			Node node = head;
+			head = node.next;
+
+			if (node.when > SystemClock.uptimeMillis())
+			{
+				SystemClock.setUptimeMillis(node.when);
+			}
+
+			Runnable task = node.task;
+			recycle(node);
+			task.run();
+		}
+
+		if (time > SystemClock.uptimeMillis())
+		{
+			SystemClock.setUptimeMillis(time);
+		}
+	}
+
+	private void recycle(Node node)
+	{
+		node.handler = null;
+		node.task = null;
+		node.next = pool;
+		pool = node;
+	}
+}
@@ -0,0 +1,29 @@
+package android.os;
+
+/**
+ * The clock only moves when the main {@link Looper} is idled forward, so
+ * tests and benchmarks control time exactly
+ */
+public final class SystemClock
+{
+	private static long uptime = 100000;
+
+	private SystemClock()
+	{
+	}
+
+	public static long uptimeMillis()
+	{
+		return uptime;
+	}
+
+	public static long elapsedRealtime()
+	{
+		return uptime;
+	}
+
+	static void setUptimeMillis(long millis)
+	{
+		uptime = millis;
+	}
+}
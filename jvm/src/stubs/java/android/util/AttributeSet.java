@@ -0,0 +1,9 @@
+package android.util;
+
+public interface AttributeSet
+{
+	public int getAttributeCount();
+	public String getAttributeName(int index);
+	public String getAttributeValue(int index);
+	public String getAttributeValue(String namespace, String name);
+}
@@ -0,0 +1,35 @@
+package android.util;
+
+public class DisplayMetrics
+{
+	public static final int DENSITY_XHIGH = 320;
+
+	public float density;
+	public int densityDpi;
+	public float scaledDensity;
+	public int widthPixels;
+	public int heightPixels;
+	public float xdpi;
+	public float ydpi;
+
+	public void setTo(DisplayMetrics o)
+	{
+		density = o.density;
+		densityDpi = o.densityDpi;
+		scaledDensity = o.scaledDensity;
+		widthPixels = o.widthPixels;
+		heightPixels = o.heightPixels;
+		xdpi = o.xdpi;
+		ydpi = o.ydpi;
+	}
+
+	public void setToDefaults()
+	{
+		density = 2f;
+		densityDpi = DENSITY_XHIGH;
+		scaledDensity = 2f;
+		widthPixels = 1200;
+		heightPixels = 1920;
+		xdpi = ydpi = DENSITY_XHIGH;
+	}
+}
@@ -0,0 +1,104 @@
+package android.view;
+
+import java.util.ArrayList;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+/**
+ * Runs frame callbacks on 16ms boundaries of the main looper's clock. Callbacks
+ * posted during a frame run on the next one.
+ */
+public final class Choreographer
+{
+	private static final long FRAME_MILLIS = 16;
+	private static Choreographer instance;
+
+	private final Handler handler = new Handler();
+	private ArrayList<FrameCallback> callbacks = new ArrayList<FrameCallback>();
+	private ArrayList<FrameCallback> running = new ArrayList<FrameCallback>();
+	private boolean frameScheduled;
+	private long frameCount;
+	private final Runnable frame = new Runnable()
+	{
+		@Override public void run()
+		{
+			doFrame();
+		}
+	};
+
+	private Choreographer()
+	{
+	}
+
+	public static Choreographer getInstance()
+	{
+		if (instance == null)
+		{
+			instance = new Choreographer();
+		}
+
+		return instance;
+	}
+
+	public void postFrameCallback(FrameCallback callback)
+	{
+		callbacks.add(callback);
+
+		if (!frameScheduled)
+		{
+			frameScheduled = true;
+
+			final long now = SystemClock.uptimeMillis();
+			handler.postAtTime(frame, (now / FRAME_MILLIS + 1) * FRAME_MILLIS);
+		}
+	}
+
+	public void removeFrameCallback(FrameCallback callback)
+	{
+		callbacks.remove(callback);
+
+		// Also drop it from a frame that is being run
+		final int index = running.indexOf(callback);
+		if (index >= 0)
+		{
+			running.set(index, null);
+		}
+	}
+
+	/**
+	 * Stub only
+	 * @return The number of frames run so far
+	 */
+	public long getFrameCount()
+	{
+		return frameCount;
+	}
+
+	private void doFrame()
+	{
+		frameScheduled = false;
+		frameCount++;
+
+		ArrayList<FrameCallback> frameCallbacks = callbacks;
+		callbacks = running;
+		running = frameCallbacks;
+
+		final long frameTimeNanos = SystemClock.uptimeMillis() * 1000000L;
+		for (int index = 0; index < frameCallbacks.size(); index++)
+		{
+			FrameCallback callback = frameCallbacks.get(index);
+			if (callback != null)
+			{
+				callback.doFrame(frameTimeNanos);
+			}
+		}
+
+		frameCallbacks.clear();
+	}
+
+	public interface FrameCallback
+	{
+		public void doFrame(long frameTimeNanos);
+	}
+}
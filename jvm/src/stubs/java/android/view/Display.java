@@ -0,0 +1,29 @@
+package android.view;
+
+import android.content.res.Resources;
+import android.util.DisplayMetrics;
+
+public final class Display
+{
+	private final Resources resources;
+
+	Display(Resources resources)
+	{
+		this.resources = resources;
+	}
+
+	public void getMetrics(DisplayMetrics outMetrics)
+	{
+		outMetrics.setTo(resources.getDisplayMetrics());
+	}
+
+	public int getWidth()
+	{
+		return resources.getDisplayMetrics().widthPixels;
+	}
+
+	public int getHeight()
+	{
+		return resources.getDisplayMetrics().heightPixels;
+	}
+}
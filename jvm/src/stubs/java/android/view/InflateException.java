@@ -0,0 +1,14 @@
+package android.view;
+
+public class InflateException extends RuntimeException
+{
+	public InflateException(String message)
+	{
+		super(message);
+	}
+
+	public InflateException(String message, Throwable cause)
+	{
+		super(message, cause);
+	}
+}
@@ -0,0 +1,128 @@
+package android.view;
+
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import android.content.Context;
+import android.util.AttributeSet;
+
+/**
+ * Inflates layouts from the res directory on the classpath. Views are created
+ * through their (Context, AttributeSet) constructor, tags without a package are
+ * looked up in android.widget and then android.view.
+ */
+public class LayoutInflater
+{
+	private static int inflateCount;
+
+	private final Context context;
+
+	public LayoutInflater(Context context)
+	{
+		this.context = context;
+	}
+
+	public static LayoutInflater from(Context context)
+	{
+		return (LayoutInflater)context.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
+	}
+
+	/**
+	 * Stub only
+	 * @return The number of layouts inflated so far
+	 */
+	public static int getInflateCount()
+	{
+		return inflateCount;
+	}
+
+	public Context getContext()
+	{
+		return context;
+	}
+
+	public View inflate(int resource, ViewGroup root)
+	{
+		return inflate(resource, root, root != null);
+	}
+
+	public View inflate(int resource, ViewGroup root, boolean attachToRoot)
+	{
+		final String name = context.getResources().getResourceEntryName(resource);
+		final InputStream in = LayoutInflater.class.getResourceAsStream("/layout/" + name + ".xml");
+		if (in == null)
+		{
+			throw new InflateException("Layout " + name + " is not on the classpath");
+		}
+
+		Element element;
+		try
+		{
+			element = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in).getDocumentElement();
+			in.close();
+		}
+		catch (Exception e)
+		{
+			throw new InflateException("Unable to parse layout " + name, e);
+		}
+
+		inflateCount++;
+
+		View view = createView(element);
+		if (root != null && attachToRoot)
+		{
+			root.addView(view);
+			return root;
+		}
+
+		return view;
+	}
+
+	private View createView(Element element)
+	{
+		final AttributeSet attrs = new XmlAttributeSet(element);
+		final View view = newInstance(element.getTagName(), attrs);
+
+		if (view instanceof ViewGroup)
+		{
+			for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling())
+			{
+				if (child instanceof Element)
+				{
+					((ViewGroup)view).addView(createView((Element)child));
+				}
+			}
+		}
+
+		return view;
+	}
+
+	private View newInstance(String tag, AttributeSet attrs)
+	{
+		String[] names = tag.indexOf('.') < 0 ? new String[]{"android.widget." + tag, "android.view." + tag} : new String[]{tag};
+
+		for (String name : names)
+		{
+			try
+			{
+				Constructor<?> constructor = Class.forName(name).getConstructor(Context.class, AttributeSet.class);
+				return (View)constructor.newInstance(context, attrs);
+			}
+			catch (ClassNotFoundException e)
+			{
+				continue;
+			}
+			catch (Exception e)
+			{
+				throw new InflateException("Error inflating class " + name, e);
+			}
+		}
+
+		throw new InflateException("Error inflating class " + tag);
+	}
+}
@@ -0,0 +1,224 @@
+package android.view;
+
+/**
+ * A single pointer event with any batched samples before it. Events are pooled,
+ * recycle them once dispatched.
+ */
+public final class MotionEvent
+{
+	public static final int ACTION_MASK = 0xff;
+	public static final int ACTION_DOWN = 0;
+	public static final int ACTION_UP = 1;
+	public static final int ACTION_MOVE = 2;
+	public static final int ACTION_CANCEL = 3;
+	public static final int ACTION_OUTSIDE = 4;
+
+	public static final int EDGE_TOP = 0x00000001;
+	public static final int EDGE_BOTTOM = 0x00000002;
+	public static final int EDGE_LEFT = 0x00000004;
+	public static final int EDGE_RIGHT = 0x00000008;
+
+	private static final int MAX_POOL_SIZE = 10;
+	private static MotionEvent pool;
+	private static int poolSize;
+
+	private MotionEvent next;
+	private long downTime, eventTime;
+	private int action, metaState, edgeFlags;
+	private float x, y;
+
+	private int historySize;
+	private float[] historyX = new float[8], historyY = new float[8];
+	private long[] historyTime = new long[8];
+
+	private MotionEvent()
+	{
+	}
+
+	public static MotionEvent obtain(long downTime, long eventTime, int action, float x, float y, int metaState)
+	{
+		MotionEvent event = pool;
+		if (event != null)
+		{
+			pool = event.next;
+			event.next = null;
+			poolSize--;
+		}
+		else
+		{
+			event = new MotionEvent();
+		}
+
+		event.downTime = downTime;
+		event.eventTime = eventTime;
+		event.action = action;
+		event.x = x;
+		event.y = y;
+		event.metaState = metaState;
+		event.edgeFlags = 0;
+		event.historySize = 0;
+		return event;
+	}
+
+	public static MotionEvent obtain(MotionEvent other)
+	{
+		MotionEvent event = obtain(other.downTime, other.eventTime, other.action, other.x, other.y, other.metaState);
+		event.edgeFlags = other.edgeFlags;
+
+		for (int index = 0; index < other.historySize; index++)
+		{
+			event.addHistory(other.historyTime[index], other.historyX[index], other.historyY[index]);
+		}
+
+		return event;
+	}
+
+	/**
+	 * Adds a new sample, moving the current one into the history
+	 */
+	public void addBatch(long eventTime, float x, float y, float pressure, float size, int metaState)
+	{
+		addHistory(this.eventTime, this.x, this.y);
+
+		this.eventTime = eventTime;
+		this.x = x;
+		this.y = y;
+		this.metaState = metaState;
+	}
+
+	private void addHistory(long time, float x, float y)
+	{
+		if (historySize == historyTime.length)
+		{
+			final int capacity = historySize * 2;
+			float[] newX = new float[capacity], newY = new float[capacity];
+			long[] newTime = new long[capacity];
+
+			System.arraycopy(historyX, 0, newX, 0, historySize);
+			System.arraycopy(historyY, 0, newY, 0, historySize);
+			System.arraycopy(historyTime, 0, newTime, 0, historySize);
+
+			historyX = newX;
+			historyY = newY;
+			historyTime = newTime;
+		}
+
+		historyX[historySize] = x;
+		historyY[historySize] = y;
+		historyTime[historySize] = time;
+		historySize++;
+	}
+
+	public void recycle()
+	{
+		if (poolSize < MAX_POOL_SIZE)
+		{
+			next = pool;
+			pool = this;
+			poolSize++;
+		}
+	}
+
+	public final int getAction()
+	{
+		return action;
+	}
+
+	public final int getActionMasked()
+	{
+		return action & ACTION_MASK;
+	}
+
+	public final void setAction(int action)
+	{
+		this.action = action;
+	}
+
+	public final long getDownTime()
+	{
+		return downTime;
+	}
+
+	public final long getEventTime()
+	{
+		return eventTime;
+	}
+
+	public final float getX()
+	{
+		return x;
+	}
+
+	public final float getY()
+	{
+		return y;
+	}
+
+	public final float getRawX()
+	{
+		return x;
+	}
+
+	public final float getRawY()
+	{
+		return y;
+	}
+
+	public final int getPointerCount()
+	{
+		return 1;
+	}
+
+	public final int getMetaState()
+	{
+		return metaState;
+	}
+
+	public final int getEdgeFlags()
+	{
+		return edgeFlags;
+	}
+
+	public final void setEdgeFlags(int flags)
+	{
+		edgeFlags = flags;
+	}
+
+	public final void setLocation(float x, float y)
+	{
+		this.x = x;
+		this.y = y;
+	}
+
+	public final void offsetLocation(float deltaX, float deltaY)
+	{
+		x += deltaX;
+		y += deltaY;
+
+		for (int index = 0; index < historySize; index++)
+		{
+			historyX[index] += deltaX;
+			historyY[index] += deltaY;
+		}
+	}
+
+	public final int getHistorySize()
+	{
+		return historySize;
+	}
+
+	public final float getHistoricalX(int pos)
+	{
+		return historyX[pos];
+	}
+
+	public final float getHistoricalY(int pos)
+	{
+		return historyY[pos];
+	}
+
+	public final long getHistoricalEventTime(int pos)
+	{
+		return historyTime[pos];
+	}
+}
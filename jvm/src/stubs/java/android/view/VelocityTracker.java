@@ -0,0 +1,122 @@
+package android.view;
+
+/**
+ * Tracks the vertical velocity over the last 100ms of samples. Trackers are
+ * pooled, recycle them when done.
+ */
+public final class VelocityTracker
+{
+	private static final int HISTORY = 20;
+	private static final long HORIZON = 100;
+	private static VelocityTracker pool;
+
+	private VelocityTracker next;
+	private final float[] x = new float[HISTORY], y = new float[HISTORY];
+	private final long[] time = new long[HISTORY];
+	private int head, size;
+	private float xVelocity, yVelocity;
+
+	private VelocityTracker()
+	{
+	}
+
+	public static VelocityTracker obtain()
+	{
+		VelocityTracker tracker = pool;
+		if (tracker != null)
+		{
+			pool = tracker.next;
+			tracker.next = null;
+			return tracker;
+		}
+
+		return new VelocityTracker();
+	}
+
+	public void recycle()
+	{
+		clear();
+		next = pool;
+		pool = this;
+	}
+
+	public void clear()
+	{
+		head = size = 0;
+		xVelocity = yVelocity = 0;
+	}
+
+	public void addMovement(MotionEvent event)
+	{
+		if (event.getActionMasked() == MotionEvent.ACTION_DOWN)
+		{
+			clear();
+		}
+
+		for (int index = 0; index < event.getHistorySize(); index++)
+		{
+			add(event.getHistoricalX(index), event.getHistoricalY(index), event.getHistoricalEventTime(index));
+		}
+
+		add(event.getX(), event.getY(), event.getEventTime());
+	}
+
+	private void add(float x, float y, long time)
+	{
+		head = (head + 1) % HISTORY;
+		this.x[head] = x;
+		this.y[head] = y;
+		this.time[head] = time;
+		size = Math.min(size + 1, HISTORY);
+	}
+
+	public void computeCurrentVelocity(int units)
+	{
+		computeCurrentVelocity(units, Float.MAX_VALUE);
+	}
+
+	public void computeCurrentVelocity(int units, float maxVelocity)
+	{
+		xVelocity = yVelocity = 0;
+
+		if (size < 2)
+		{
+			return;
+		}
+
+		// Oldest sample still within the horizon of the newest one
+		int oldest = head;
+		for (int count = 1; count < size; count++)
+		{
+			final int index = (head - count + HISTORY) % HISTORY;
+			if (time[head] - time[index] > HORIZON)
+			{
+				break;
+			}
+
+			oldest = index;
+		}
+
+		final long duration = time[head] - time[oldest];
+		if (duration > 0)
+		{
+			xVelocity = clamp((x[head] - x[oldest]) * units / duration, maxVelocity);
+			yVelocity = clamp((y[head] - y[oldest]) * units / duration, maxVelocity);
+		}
+	}
+
+	private static float clamp(float velocity, float max)
+	{
+		return Math.max(-max, Math.min(velocity, max));
+	}
+
+	public float getXVelocity()
+	{
+		return xVelocity;
+	}
+
+	public float getYVelocity()
+	{
+		return yVelocity;
+	}
+}
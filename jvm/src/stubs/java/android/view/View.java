@@ -0,0 +1,681 @@
+package android.view;
+
+import java.util.ArrayList;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.util.AttributeSet;
+import android.view.animation.Animation;
+import android.view.animation.Transformation;
+
+/**
+ * Keeps the state the library reads and writes. There is no measure, layout or draw
+ * pass, set the bounds with {@link View#layout(int, int, int, int)}. Posted tasks and
+ * animations run on the main {@link android.os.Looper}, legacy animations are stepped
+ * every 16ms for as long as they run.
+ */
+public class View
+{
+	public static final int NO_ID = -1;
+	public static final int VISIBLE = 0;
+	public static final int INVISIBLE = 4;
+	public static final int GONE = 8;
+	public static final int LAYER_TYPE_NONE = 0;
+	public static final int LAYER_TYPE_SOFTWARE = 1;
+	public static final int LAYER_TYPE_HARDWARE = 2;
+
+	private static final long FRAME_MILLIS = 16;
+	private static Handler handler;
+
+	private final Context context;
+	ViewParent parent;
+	private int id = NO_ID;
+	private int visibility = VISIBLE;
+	private float alpha = 1f, translationY;
+	private int layerType = LAYER_TYPE_NONE;
+	private int left, top, right, bottom;
+	private int scrollX, scrollY;
+	private Object tag;
+	private int[] tagKeys;
+	private Object[] tagValues;
+	private OnTouchListener onTouchListener;
+	private ArrayList<OnAttachStateChangeListener> attachListeners;
+	private boolean attached;
+	private int invalidationCount;
+
+	private Animation animation;
+	private boolean animationFramePosted;
+	private final Transformation transformation = new Transformation();
+	private final Runnable animationFrame = new Runnable()
+	{
+		@Override public void run()
+		{
+			animationFramePosted = false;
+			stepAnimation();
+		}
+	};
+
+	public View(Context context)
+	{
+		this.context = context;
+	}
+
+	public View(Context context, AttributeSet attrs)
+	{
+		this(context, attrs, 0);
+	}
+
+	public View(Context context, AttributeSet attrs, int defStyle)
+	{
+		this.context = context;
+
+		if (attrs != null)
+		{
+			String id = attrs.getAttributeValue(null, "id");
+			if (id != null && id.startsWith("@"))
+			{
+				this.id = context.getResources().getIdentifier(id.substring(id.indexOf('/') + 1), "id", context.getPackageName());
+			}
+
+			String visibility = attrs.getAttributeValue(null, "visibility");
+			if ("gone".equals(visibility))
+			{
+				this.visibility = GONE;
+			}
+			else if ("invisible".equals(visibility))
+			{
+				this.visibility = INVISIBLE;
+			}
+		}
+	}
+
+	private static Handler getMainHandler()
+	{
+		if (handler == null)
+		{
+			handler = new Handler();
+		}
+
+		return handler;
+	}
+
+	public Context getContext()
+	{
+		return context;
+	}
+
+	public Resources getResources()
+	{
+		return context.getResources();
+	}
+
+	public int getId()
+	{
+		return id;
+	}
+
+	public void setId(int id)
+	{
+		this.id = id;
+	}
+
+	public int getVisibility()
+	{
+		return visibility;
+	}
+
+	public void setVisibility(int visibility)
+	{
+		if (this.visibility != visibility)
+		{
+			this.visibility = visibility;
+			invalidate();
+		}
+	}
+
+	public boolean isShown()
+	{
+		View view = this;
+		while (view.visibility == VISIBLE)
+		{
+			if (!(view.parent instanceof View))
+			{
+				return view.attached;
+			}
+
+			view = (View)view.parent;
+		}
+
+		return false;
+	}
+
+	public float getAlpha()
+	{
+		return alpha;
+	}
+
+	public void setAlpha(float alpha)
+	{
+		this.alpha = alpha;
+	}
+
+	public float getTranslationY()
+	{
+		return translationY;
+	}
+
+	public void setTranslationY(float translationY)
+	{
+		this.translationY = translationY;
+	}
+
+	public void setLayerType(int layerType, Paint paint)
+	{
+		this.layerType = layerType;
+	}
+
+	public int getLayerType()
+	{
+		return layerType;
+	}
+
+	/**
+	 * Sets the bounds relative to the parent, in place of a layout pass
+	 */
+	public void layout(int l, int t, int r, int b)
+	{
+		final int oldWidth = right - left, oldHeight = bottom - top;
+
+		left = l;
+		top = t;
+		right = r;
+		bottom = b;
+
+		if (oldWidth != r - l || oldHeight != b - t)
+		{
+			onSizeChanged(r - l, b - t, oldWidth, oldHeight);
+		}
+
+		onLayout(true, l, t, r, b);
+	}
+
+	protected void onLayout(boolean changed, int left, int top, int right, int bottom)
+	{
+	}
+
+	protected void onSizeChanged(int w, int h, int oldw, int oldh)
+	{
+	}
+
+	protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec)
+	{
+	}
+
+	protected final void setMeasuredDimension(int measuredWidth, int measuredHeight)
+	{
+	}
+
+	protected int getSuggestedMinimumWidth()
+	{
+		return 0;
+	}
+
+	protected int getSuggestedMinimumHeight()
+	{
+		return 0;
+	}
+
+	public static int getDefaultSize(int size, int measureSpec)
+	{
+		return size;
+	}
+
+	public static int resolveSize(int size, int measureSpec)
+	{
+		return size;
+	}
+
+	public final int getLeft()
+	{
+		return left;
+	}
+
+	public final int getTop()
+	{
+		return top;
+	}
+
+	public final int getRight()
+	{
+		return right;
+	}
+
+	public final int getBottom()
+	{
+		return bottom;
+	}
+
+	public final int getWidth()
+	{
+		return right - left;
+	}
+
+	public final int getHeight()
+	{
+		return bottom - top;
+	}
+
+	public int getPaddingLeft()
+	{
+		return 0;
+	}
+
+	public int getPaddingTop()
+	{
+		return 0;
+	}
+
+	public int getPaddingRight()
+	{
+		return 0;
+	}
+
+	public int getPaddingBottom()
+	{
+		return 0;
+	}
+
+	public final int getScrollX()
+	{
+		return scrollX;
+	}
+
+	public final int getScrollY()
+	{
+		return scrollY;
+	}
+
+	public void scrollTo(int x, int y)
+	{
+		if (scrollX != x || scrollY != y)
+		{
+			final int oldX = scrollX, oldY = scrollY;
+			scrollX = x;
+			scrollY = y;
+			onScrollChanged(scrollX, scrollY, oldX, oldY);
+		}
+	}
+
+	public void scrollBy(int x, int y)
+	{
+		scrollTo(scrollX + x, scrollY + y);
+	}
+
+	protected void onScrollChanged(int l, int t, int oldl, int oldt)
+	{
+	}
+
+	protected int computeVerticalScrollRange()
+	{
+		return getHeight();
+	}
+
+	protected int computeVerticalScrollOffset()
+	{
+		return scrollY;
+	}
+
+	protected int computeVerticalScrollExtent()
+	{
+		return getHeight();
+	}
+
+	public boolean canScrollVertically(int direction)
+	{
+		final int offset = computeVerticalScrollOffset();
+		final int range = computeVerticalScrollRange() - computeVerticalScrollExtent();
+
+		if (range == 0)
+		{
+			return false;
+		}
+
+		return direction < 0 ? offset > 0 : offset < range - 1;
+	}
+
+	public final ViewParent getParent()
+	{
+		return parent;
+	}
+
+	public View getRootView()
+	{
+		View root = this;
+		while (root.parent instanceof View)
+		{
+			root = (View)root.parent;
+		}
+
+		return root;
+	}
+
+	public final View findViewById(int id)
+	{
+		if (id < 0)
+		{
+			return null;
+		}
+
+		return findViewTraversal(id);
+	}
+
+	protected View findViewTraversal(int id)
+	{
+		return id == this.id ? this : null;
+	}
+
+	public Object getTag()
+	{
+		return tag;
+	}
+
+	public void setTag(Object tag)
+	{
+		this.tag = tag;
+	}
+
+	public Object getTag(int key)
+	{
+		if (tagKeys != null)
+		{
+			for (int index = 0; index < tagKeys.length; index++)
+			{
+				if (tagKeys[index] == key)
+				{
+					return tagValues[index];
+				}
+			}
+		}
+
+		return null;
+	}
+
+	public void setTag(int key, Object tag)
+	{
+		if (tagKeys != null)
+		{
+			for (int index = 0; index < tagKeys.length; index++)
+			{
+				if (tagKeys[index] == key)
+				{
+					tagValues[index] = tag;
+					return;
+				}
+			}
+		}
+
+		final int size = tagKeys == null ? 0 : tagKeys.length;
+		int[] keys = new int[size + 1];
+		Object[] values = new Object[size + 1];
+
+		if (size > 0)
+		{
+			System.arraycopy(tagKeys, 0, keys, 0, size);
+			System.arraycopy(tagValues, 0, values, 0, size);
+		}
+
+		keys[size] = key;
+		values[size] = tag;
+		tagKeys = keys;
+		tagValues = values;
+	}
+
+	public void invalidate()
+	{
+		invalidationCount++;
+	}
+
+	public void postInvalidate()
+	{
+		invalidate();
+	}
+
+	public void postInvalidateDelayed(long delayMilliseconds)
+	{
+		invalidate();
+	}
+
+	public void postInvalidateOnAnimation()
+	{
+		invalidate();
+	}
+
+	/**
+	 * Stub only
+	 * @return The number of times the view has been invalidated
+	 */
+	public int getInvalidationCount()
+	{
+		return invalidationCount;
+	}
+
+	public void requestLayout()
+	{
+	}
+
+	protected void onDraw(Canvas canvas)
+	{
+	}
+
+	public void setWillNotDraw(boolean willNotDraw)
+	{
+	}
+
+	public Handler getHandler()
+	{
+		return attached ? getMainHandler() : null;
+	}
+
+	public boolean post(Runnable action)
+	{
+		return getMainHandler().post(action);
+	}
+
+	public boolean postDelayed(Runnable action, long delayMillis)
+	{
+		return getMainHandler().postDelayed(action, delayMillis);
+	}
+
+	public void postOnAnimation(Runnable action)
+	{
+		getMainHandler().post(action);
+	}
+
+	public boolean removeCallbacks(Runnable action)
+	{
+		if (action != null)
+		{
+			getMainHandler().removeCallbacks(action);
+		}
+
+		return true;
+	}
+
+	public void setOnTouchListener(OnTouchListener l)
+	{
+		onTouchListener = l;
+	}
+
+	public boolean dispatchTouchEvent(MotionEvent event)
+	{
+		if (onTouchListener != null && visibility == VISIBLE && onTouchListener.onTouch(this, event))
+		{
+			return true;
+		}
+
+		return onTouchEvent(event);
+	}
+
+	public boolean onTouchEvent(MotionEvent event)
+	{
+		return false;
+	}
+
+	protected void onConfigurationChanged(Configuration newConfig)
+	{
+	}
+
+	/**
+	 * Stub only. Passes the new configuration down the hierarchy as the window would.
+	 * @param newConfig
+	 */
+	public void dispatchConfigurationChanged(Configuration newConfig)
+	{
+		onConfigurationChanged(newConfig);
+	}
+
+	public boolean isAttachedToWindow()
+	{
+		return attached;
+	}
+
+	public void addOnAttachStateChangeListener(OnAttachStateChangeListener listener)
+	{
+		if (attachListeners == null)
+		{
+			attachListeners = new ArrayList<OnAttachStateChangeListener>();
+		}
+
+		attachListeners.add(listener);
+	}
+
+	public void removeOnAttachStateChangeListener(OnAttachStateChangeListener listener)
+	{
+		if (attachListeners != null)
+		{
+			attachListeners.remove(listener);
+		}
+	}
+
+	protected void onAttachedToWindow()
+	{
+	}
+
+	protected void onDetachedFromWindow()
+	{
+	}
+
+	/**
+	 * Stub only. Called by the parent, or by the window for its decor.
+	 */
+	public void dispatchAttachedToWindow()
+	{
+		attached = true;
+		onAttachedToWindow();
+
+		if (attachListeners != null)
+		{
+			for (Object listener : attachListeners.toArray())
+			{
+				((OnAttachStateChangeListener)listener).onViewAttachedToWindow(this);
+			}
+		}
+	}
+
+	/**
+	 * Stub only. Called by the parent, or by the window for its decor.
+	 */
+	public void dispatchDetachedFromWindow()
+	{
+		if (attachListeners != null)
+		{
+			for (Object listener : attachListeners.toArray())
+			{
+				((OnAttachStateChangeListener)listener).onViewDetachedFromWindow(this);
+			}
+		}
+
+		clearAnimation();
+		onDetachedFromWindow();
+		attached = false;
+	}
+
+	public Animation getAnimation()
+	{
+		return animation;
+	}
+
+	public void setAnimation(Animation animation)
+	{
+		this.animation = animation;
+	}
+
+	public void startAnimation(Animation animation)
+	{
+		animation.setStartTime(Animation.START_ON_FIRST_FRAME);
+		setAnimation(animation);
+		invalidate();
+
+		if (!animationFramePosted)
+		{
+			animationFramePosted = true;
+			getMainHandler().postDelayed(animationFrame, FRAME_MILLIS - SystemClock.uptimeMillis() % FRAME_MILLIS);
+		}
+	}
+
+	public void clearAnimation()
+	{
+		if (animation != null)
+		{
+			animation.detach();
+		}
+
+		animation = null;
+
+		if (animationFramePosted)
+		{
+			animationFramePosted = false;
+			getMainHandler().removeCallbacks(animationFrame);
+		}
+	}
+
+	private void stepAnimation()
+	{
+		final Animation current = animation;
+		if (current == null)
+		{
+			return;
+		}
+
+		transformation.clear();
+		final boolean more = current.getTransformation(SystemClock.uptimeMillis(), transformation);
+		invalidate();
+
+		if (more)
+		{
+			animationFramePosted = true;
+			getMainHandler().postDelayed(animationFrame, FRAME_MILLIS);
+		}
+		else if (animation == current && !current.getFillAfter())
+		{
+			// The parent drops a finished animation unless it fills after
+			animation = null;
+		}
+	}
+
+	public interface OnTouchListener
+	{
+		boolean onTouch(View v, MotionEvent event);
+	}
+
+	public interface OnAttachStateChangeListener
+	{
+		public void onViewAttachedToWindow(View v);
+		public void onViewDetachedFromWindow(View v);
+	}
+}
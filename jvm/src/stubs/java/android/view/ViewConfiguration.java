@@ -0,0 +1,30 @@
+package android.view;
+
+import android.content.Context;
+
+public class ViewConfiguration
+{
+	private static final int TOUCH_SLOP = 8;
+
+	private final int touchSlop;
+
+	private ViewConfiguration(Context context)
+	{
+		touchSlop = (int)(TOUCH_SLOP * context.getResources().getDisplayMetrics().density + 0.5f);
+	}
+
+	public static ViewConfiguration get(Context context)
+	{
+		return new ViewConfiguration(context);
+	}
+
+	public int getScaledTouchSlop()
+	{
+		return touchSlop;
+	}
+
+	public static int getTouchSlop()
+	{
+		return TOUCH_SLOP;
+	}
+}
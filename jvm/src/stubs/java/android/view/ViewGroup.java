@@ -0,0 +1,180 @@
+package android.view;
+
+import java.util.ArrayList;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.util.AttributeSet;
+
+public abstract class ViewGroup extends View implements ViewParent
+{
+	private final ArrayList<View> children = new ArrayList<View>();
+
+	public ViewGroup(Context context)
+	{
+		super(context);
+	}
+
+	public ViewGroup(Context context, AttributeSet attrs)
+	{
+		super(context, attrs);
+	}
+
+	public ViewGroup(Context context, AttributeSet attrs, int defStyle)
+	{
+		super(context, attrs, defStyle);
+	}
+
+	public int getChildCount()
+	{
+		return children.size();
+	}
+
+	public View getChildAt(int index)
+	{
+		return index < 0 || index >= children.size() ? null : children.get(index);
+	}
+
+	public int indexOfChild(View child)
+	{
+		return children.indexOf(child);
+	}
+
+	public void addView(View child)
+	{
+		addView(child, -1);
+	}
+
+	public void addView(View child, int index)
+	{
+		if (child.parent != null)
+		{
+			throw new IllegalStateException("The specified child already has a parent. You must call removeView() on the child's parent first.");
+		}
+
+		if (index < 0)
+		{
+			children.add(child);
+		}
+		else
+		{
+			children.add(index, child);
+		}
+
+		child.parent = this;
+
+		if (isAttachedToWindow())
+		{
+			child.dispatchAttachedToWindow();
+		}
+	}
+
+	public void addView(View child, LayoutParams params)
+	{
+		addView(child, -1);
+	}
+
+	public void addView(View child, int index, LayoutParams params)
+	{
+		addView(child, index);
+	}
+
+	public void removeView(View view)
+	{
+		removeViewAt(children.indexOf(view));
+	}
+
+	public void removeViewAt(int index)
+	{
+		if (index < 0)
+		{
+			return;
+		}
+
+		View child = children.remove(index);
+
+		if (isAttachedToWindow())
+		{
+			child.dispatchDetachedFromWindow();
+		}
+
+		child.parent = null;
+	}
+
+	public void removeAllViews()
+	{
+		while (!children.isEmpty())
+		{
+			removeViewAt(children.size() - 1);
+		}
+	}
+
+	@Override protected View findViewTraversal(int id)
+	{
+		if (id == getId())
+		{
+			return this;
+		}
+
+		for (int index = 0; index < children.size(); index++)
+		{
+			View view = children.get(index).findViewTraversal(id);
+			if (view != null)
+			{
+				return view;
+			}
+		}
+
+		return null;
+	}
+
+	@Override public void dispatchAttachedToWindow()
+	{
+		super.dispatchAttachedToWindow();
+
+		for (int index = 0; index < children.size(); index++)
+		{
+			children.get(index).dispatchAttachedToWindow();
+		}
+	}
+
+	@Override public void dispatchDetachedFromWindow()
+	{
+		for (int index = 0; index < children.size(); index++)
+		{
+			children.get(index).dispatchDetachedFromWindow();
+		}
+
+		super.dispatchDetachedFromWindow();
+	}
+
+	@Override public void dispatchConfigurationChanged(Configuration newConfig)
+	{
+		super.dispatchConfigurationChanged(newConfig);
+
+		for (int index = 0; index < children.size(); index++)
+		{
+			children.get(index).dispatchConfigurationChanged(newConfig);
+		}
+	}
+
+	@Override public void requestDisallowInterceptTouchEvent(boolean disallowIntercept)
+	{
+	}
+
+	public static class LayoutParams
+	{
+		public static final int FILL_PARENT = -1;
+		public static final int MATCH_PARENT = -1;
+		public static final int WRAP_CONTENT = -2;
+
+		public int width;
+		public int height;
+
+		public LayoutParams(int width, int height)
+		{
+			this.width = width;
+			this.height = height;
+		}
+	}
+}
@@ -0,0 +1,8 @@
+package android.view;
+
+public interface ViewParent
+{
+	public ViewParent getParent();
+	public void requestLayout();
+	public void requestDisallowInterceptTouchEvent(boolean disallowIntercept);
+}
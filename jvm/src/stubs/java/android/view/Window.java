@@ -0,0 +1,52 @@
+package android.view;
+
+import android.content.Context;
+import android.widget.FrameLayout;
+
+import com.android.internal.widget.ActionBarContainer;
+
+/**
+ * A window whose decor holds an action bar container, found by class name as on a
+ * device as it has no id from the library's package, above the content frame
+ */
+public class Window
+{
+	public static final int ID_ANDROID_CONTENT = 0x01020002;
+
+	private final FrameLayout decor;
+	private final FrameLayout content;
+
+	public Window(Context context)
+	{
+		decor = new FrameLayout(context);
+
+		FrameLayout bars = new FrameLayout(context);
+		bars.addView(new ActionBarContainer(context));
+		decor.addView(bars);
+
+		content = new FrameLayout(context);
+		content.setId(ID_ANDROID_CONTENT);
+		decor.addView(content);
+
+		decor.dispatchAttachedToWindow();
+	}
+
+	public View getDecorView()
+	{
+		return decor;
+	}
+
+	public void setContentView(View view)
+	{
+		content.removeAllViews();
+		content.addView(view);
+	}
+
+	/**
+	 * Stub only. Detaches the decor, as when the activity is destroyed.
+	 */
+	public void destroy()
+	{
+		decor.dispatchDetachedFromWindow();
+	}
+}
@@ -0,0 +1,29 @@
+package android.view;
+
+import android.content.res.Resources;
+
+/**
+ * A class rather than an interface here, reporting the metrics of the resources it was created for
+ */
+public class WindowManager
+{
+	private final Display display;
+
+	public WindowManager(Resources resources)
+	{
+		display = new Display(resources);
+	}
+
+	public Display getDefaultDisplay()
+	{
+		return display;
+	}
+
+	public static class LayoutParams extends ViewGroup.LayoutParams
+	{
+		public LayoutParams()
+		{
+			super(MATCH_PARENT, MATCH_PARENT);
+		}
+	}
+}
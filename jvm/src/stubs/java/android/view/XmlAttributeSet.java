@@ -0,0 +1,57 @@
+package android.view;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+
+import android.util.AttributeSet;
+
+/**
+ * The attributes of a layout element, named without their namespace prefix
+ */
+class XmlAttributeSet implements AttributeSet
+{
+	private final String[] names;
+	private final String[] values;
+
+	XmlAttributeSet(Element element)
+	{
+		NamedNodeMap attributes = element.getAttributes();
+		names = new String[attributes.getLength()];
+		values = new String[attributes.getLength()];
+
+		for (int index = 0; index < names.length; index++)
+		{
+			String name = attributes.item(index).getNodeName();
+			names[index] = name.substring(name.indexOf(':') + 1);
+			values[index] = attributes.item(index).getNodeValue();
+		}
+	}
+
+	@Override public int getAttributeCount()
+	{
+		return names.length;
+	}
+
+	@Override public String getAttributeName(int index)
+	{
+		return names[index];
+	}
+
+	@Override public String getAttributeValue(int index)
+	{
+		return values[index];
+	}
+
+	@Override public String getAttributeValue(String namespace, String name)
+	{
+		for (int index = 0; index < names.length; index++)
+		{
+			if (names[index].equals(name))
+			{
+				return values[index];
+			}
+		}
+
+		return null;
+	}
+}
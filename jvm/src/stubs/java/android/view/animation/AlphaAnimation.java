@@ -0,0 +1,17 @@
+package android.view.animation;
+
+public class AlphaAnimation extends Animation
+{
+	private final float fromAlpha, toAlpha;
+
+	public AlphaAnimation(float fromAlpha, float toAlpha)
+	{
+		this.fromAlpha = fromAlpha;
+		this.toAlpha = toAlpha;
+	}
+
+	@Override protected void applyTransformation(float interpolatedTime, Transformation t)
+	{
+		t.setAlpha(fromAlpha + (toAlpha - fromAlpha) * interpolatedTime);
+	}
+}
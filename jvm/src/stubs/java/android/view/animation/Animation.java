@@ -0,0 +1,175 @@
+package android.view.animation;
+
+/**
+ * Follows the framework's timing: the start time is taken from the first frame,
+ * the listener is told on the first and last frame, and a finished animation
+ * only starts again once its start time is set, which
+ * {@link android.view.View#startAnimation(Animation)} does.
+ */
+public abstract class Animation
+{
+	public static final int START_ON_FIRST_FRAME = -1;
+	public static final int ABSOLUTE = 0;
+	public static final int RELATIVE_TO_SELF = 1;
+	public static final int RELATIVE_TO_PARENT = 2;
+
+	long startTime = START_ON_FIRST_FRAME;
+	long duration;
+	private boolean fillBefore = true, fillAfter;
+	boolean started, ended;
+	private Interpolator interpolator;
+	private AnimationListener listener;
+
+	public Animation()
+	{
+	}
+
+	public void reset()
+	{
+		started = ended = false;
+	}
+
+	public void setStartTime(long startTimeMillis)
+	{
+		startTime = startTimeMillis;
+		started = ended = false;
+	}
+
+	public long getStartTime()
+	{
+		return startTime;
+	}
+
+	public void start()
+	{
+		setStartTime(START_ON_FIRST_FRAME);
+	}
+
+	public void setDuration(long durationMillis)
+	{
+		duration = durationMillis;
+	}
+
+	public long getDuration()
+	{
+		return duration;
+	}
+
+	public long computeDurationHint()
+	{
+		return getDuration();
+	}
+
+	public void setFillBefore(boolean fillBefore)
+	{
+		this.fillBefore = fillBefore;
+	}
+
+	public boolean getFillBefore()
+	{
+		return fillBefore;
+	}
+
+	public void setFillAfter(boolean fillAfter)
+	{
+		this.fillAfter = fillAfter;
+	}
+
+	public boolean getFillAfter()
+	{
+		return fillAfter;
+	}
+
+	public void setInterpolator(Interpolator interpolator)
+	{
+		this.interpolator = interpolator;
+	}
+
+	public Interpolator getInterpolator()
+	{
+		return interpolator;
+	}
+
+	public void setAnimationListener(AnimationListener listener)
+	{
+		this.listener = listener;
+	}
+
+	public boolean hasStarted()
+	{
+		return started;
+	}
+
+	public boolean hasEnded()
+	{
+		return ended;
+	}
+
+	/**
+	 * Ends the animation if it is running, as the view does when the animation is cleared
+	 */
+	public void detach()
+	{
+		if (started && !ended)
+		{
+			ended = true;
+			fireAnimationEnd();
+		}
+	}
+
+	public boolean getTransformation(long currentTime, Transformation outTransformation)
+	{
+		if (startTime == START_ON_FIRST_FRAME)
+		{
+			startTime = currentTime;
+		}
+
+		final long duration = computeDurationHint();
+		final float normalizedTime = duration != 0 ? (currentTime - startTime) / (float)duration : currentTime < startTime ? 0f : 1f;
+		final boolean expired = normalizedTime >= 1f;
+
+		if (!started)
+		{
+			started = true;
+			fireAnimationStart();
+		}
+
+		final float time = Math.max(0f, Math.min(normalizedTime, 1f));
+		applyTransformation(interpolator == null ? time : interpolator.getInterpolation(time), outTransformation);
+
+		if (expired && !ended)
+		{
+			ended = true;
+			fireAnimationEnd();
+		}
+
+		return !expired;
+	}
+
+	protected void applyTransformation(float interpolatedTime, Transformation t)
+	{
+	}
+
+	void fireAnimationStart()
+	{
+		if (listener != null)
+		{
+			listener.onAnimationStart(this);
+		}
+	}
+
+	void fireAnimationEnd()
+	{
+		if (listener != null)
+		{
+			listener.onAnimationEnd(this);
+		}
+	}
+
+	public static interface AnimationListener
+	{
+		void onAnimationStart(Animation animation);
+		void onAnimationEnd(Animation animation);
+		void onAnimationRepeat(Animation animation);
+	}
+}
@@ -0,0 +1,88 @@
+package android.view.animation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs its children together and lasts as long as the longest one
+ */
+public class AnimationSet extends Animation
+{
+	private final ArrayList<Animation> animations = new ArrayList<Animation>();
+	private final Transformation temp = new Transformation();
+
+	public AnimationSet(boolean shareInterpolator)
+	{
+	}
+
+	public void addAnimation(Animation a)
+	{
+		animations.add(a);
+	}
+
+	public List<Animation> getAnimations()
+	{
+		return animations;
+	}
+
+	@Override public void setStartTime(long startTimeMillis)
+	{
+		super.setStartTime(startTimeMillis);
+
+		for (int index = 0; index < animations.size(); index++)
+		{
+			animations.get(index).setStartTime(startTimeMillis);
+		}
+	}
+
+	@Override public void reset()
+	{
+		super.reset();
+
+		for (int index = 0; index < animations.size(); index++)
+		{
+			animations.get(index).reset();
+		}
+	}
+
+	@Override public long computeDurationHint()
+	{
+		long duration = 0;
+		for (int index = 0; index < animations.size(); index++)
+		{
+			duration = Math.max(duration, animations.get(index).computeDurationHint());
+		}
+
+		return duration;
+	}
+
+	@Override public boolean getTransformation(long currentTime, Transformation t)
+	{
+		if (startTime == START_ON_FIRST_FRAME)
+		{
+			startTime = currentTime;
+		}
+
+		boolean more = false;
+		for (int index = 0; index < animations.size(); index++)
+		{
+			temp.clear();
+			more |= animations.get(index).getTransformation(currentTime, temp);
+			t.compose(temp);
+		}
+
+		if (!started)
+		{
+			started = true;
+			fireAnimationStart();
+		}
+
+		if (!more && !ended)
+		{
+			ended = true;
+			fireAnimationEnd();
+		}
+
+		return more;
+	}
+}
@@ -0,0 +1,7 @@
+package android.view.animation;
+
+import android.animation.TimeInterpolator;
+
+public interface Interpolator extends TimeInterpolator
+{
+}
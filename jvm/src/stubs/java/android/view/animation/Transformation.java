@@ -0,0 +1,49 @@
+package android.view.animation;
+
+public class Transformation
+{
+	private float alpha = 1f;
+	private float translationX, translationY;
+
+	public void clear()
+	{
+		alpha = 1f;
+		translationX = translationY = 0f;
+	}
+
+	public float getAlpha()
+	{
+		return alpha;
+	}
+
+	public void setAlpha(float alpha)
+	{
+		this.alpha = alpha;
+	}
+
+	/**
+	 * Stub only, in place of the matrix
+	 */
+	public void setTranslation(float x, float y)
+	{
+		translationX = x;
+		translationY = y;
+	}
+
+	public float getTranslationY()
+	{
+		return translationY;
+	}
+
+	public float getTranslationX()
+	{
+		return translationX;
+	}
+
+	public void compose(Transformation t)
+	{
+		alpha *= t.alpha;
+		translationX += t.translationX;
+		translationY += t.translationY;
+	}
+}
@@ -0,0 +1,27 @@
+package android.view.animation;
+
+/**
+ * Relative values are applied as they are, as if the view and its parent were one pixel in size
+ */
+public class TranslateAnimation extends Animation
+{
+	private final float fromX, toX, fromY, toY;
+
+	public TranslateAnimation(float fromXDelta, float toXDelta, float fromYDelta, float toYDelta)
+	{
+		this(ABSOLUTE, fromXDelta, ABSOLUTE, toXDelta, ABSOLUTE, fromYDelta, ABSOLUTE, toYDelta);
+	}
+
+	public TranslateAnimation(int fromXType, float fromXValue, int toXType, float toXValue, int fromYType, float fromYValue, int toYType, float toYValue)
+	{
+		fromX = fromXValue;
+		toX = toXValue;
+		fromY = fromYValue;
+		toY = toYValue;
+	}
+
+	@Override protected void applyTransformation(float interpolatedTime, Transformation t)
+	{
+		t.setTranslation(fromX + (toX - fromX) * interpolatedTime, fromY + (toY - fromY) * interpolatedTime);
+	}
+}
@@ -0,0 +1,128 @@
+package android.widget;
+
+import android.content.Context;
+import android.database.DataSetObserver;
+import android.util.AttributeSet;
+import android.view.View;
+
+/**
+ * Lays its rows out in a single reused child view. The first visible row sits at
+ * {@link AbsListView#getFirstVisiblePosition()} with its top at the offset given to
+ * {@code setSelectionFromTop}.
+ */
+public abstract class AbsListView extends AdapterView<ListAdapter>
+{
+	/**
+	 * Height of a row in pixels
+	 */
+	public static final int ROW_HEIGHT = 96;
+
+	ListAdapter mAdapter;
+	int mFirstTop;
+	private View row;
+	private final DataSetObserver observer = new DataSetObserver()
+	{
+		@Override public void onChanged()
+		{
+			mItemCount = mAdapter.getCount();
+			mFirstPosition = Math.max(0, Math.min(mFirstPosition, mItemCount - 1));
+			layoutChildren();
+		}
+	};
+
+	public AbsListView(Context context)
+	{
+		super(context);
+	}
+
+	public AbsListView(Context context, AttributeSet attrs)
+	{
+		super(context, attrs);
+	}
+
+	public AbsListView(Context context, AttributeSet attrs, int defStyle)
+	{
+		super(context, attrs, defStyle);
+	}
+
+	@Override public ListAdapter getAdapter()
+	{
+		return mAdapter;
+	}
+
+	@Override public void setAdapter(ListAdapter adapter)
+	{
+		if (mAdapter != null)
+		{
+			mAdapter.unregisterDataSetObserver(observer);
+		}
+
+		mAdapter = adapter;
+		mFirstPosition = 0;
+		mFirstTop = 0;
+		mItemCount = 0;
+
+		if (adapter != null)
+		{
+			adapter.registerDataSetObserver(observer);
+			mItemCount = adapter.getCount();
+		}
+
+		layoutChildren();
+	}
+
+	/**
+	 * Positions the first visible row
+	 * @param position
+	 * @param y The top of the row relative to the list
+	 */
+	public void setSelectionFromTop(int position, int y)
+	{
+		mFirstPosition = Math.max(0, Math.min(position, mItemCount - 1));
+		mFirstTop = y;
+		layoutChildren();
+	}
+
+	protected void layoutChildren()
+	{
+		if (mItemCount == 0)
+		{
+			removeAllViews();
+			return;
+		}
+
+		if (row == null)
+		{
+			row = new View(getContext());
+		}
+
+		if (row.getParent() == null)
+		{
+			addView(row);
+		}
+
+		row.layout(0, mFirstTop, getWidth(), mFirstTop + ROW_HEIGHT);
+	}
+
+	@Override protected void onSizeChanged(int w, int h, int oldw, int oldh)
+	{
+		super.onSizeChanged(w, h, oldw, oldh);
+		layoutChildren();
+	}
+
+	@Override public boolean canScrollVertically(int direction)
+	{
+		final int childCount = getChildCount();
+		if (childCount == 0)
+		{
+			return false;
+		}
+
+		if (direction < 0)
+		{
+			return mFirstPosition > 0 || getChildAt(0).getTop() < getPaddingTop();
+		}
+
+		return (long)(mItemCount - mFirstPosition) * ROW_HEIGHT + mFirstTop > getHeight();
+	}
+}
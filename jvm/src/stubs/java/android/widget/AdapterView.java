@@ -0,0 +1,50 @@
+package android.widget;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.ViewGroup;
+
+public abstract class AdapterView<T extends Adapter> extends ViewGroup
+{
+	public static final int INVALID_POSITION = -1;
+
+	/**
+	 * The item count as of the last data set change, the adapter is not asked again until the next one
+	 */
+	int mItemCount;
+	int mFirstPosition;
+
+	public AdapterView(Context context)
+	{
+		super(context);
+	}
+
+	public AdapterView(Context context, AttributeSet attrs)
+	{
+		super(context, attrs);
+	}
+
+	public AdapterView(Context context, AttributeSet attrs, int defStyle)
+	{
+		super(context, attrs, defStyle);
+	}
+
+	public abstract T getAdapter();
+
+	public abstract void setAdapter(T adapter);
+
+	public int getCount()
+	{
+		return mItemCount;
+	}
+
+	public int getFirstVisiblePosition()
+	{
+		return mFirstPosition;
+	}
+
+	public int getLastVisiblePosition()
+	{
+		return mFirstPosition + getChildCount() - 1;
+	}
+}
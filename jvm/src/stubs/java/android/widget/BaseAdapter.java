@@ -0,0 +1,66 @@
+package android.widget;
+
+import java.util.ArrayList;
+
+import android.database.DataSetObserver;
+
+public abstract class BaseAdapter implements ListAdapter
+{
+	private final ArrayList<DataSetObserver> observers = new ArrayList<DataSetObserver>();
+
+	@Override public boolean hasStableIds()
+	{
+		return false;
+	}
+
+	@Override public void registerDataSetObserver(DataSetObserver observer)
+	{
+		observers.add(observer);
+	}
+
+	@Override public void unregisterDataSetObserver(DataSetObserver observer)
+	{
+		observers.remove(observer);
+	}
+
+	public void notifyDataSetChanged()
+	{
+		for (int index = observers.size() - 1; index >= 0; index--)
+		{
+			observers.get(index).onChanged();
+		}
+	}
+
+	public void notifyDataSetInvalidated()
+	{
+		for (int index = observers.size() - 1; index >= 0; index--)
+		{
+			observers.get(index).onInvalidated();
+		}
+	}
+
+	@Override public boolean areAllItemsEnabled()
+	{
+		return true;
+	}
+
+	@Override public boolean isEnabled(int position)
+	{
+		return true;
+	}
+
+	@Override public int getItemViewType(int position)
+	{
+		return 0;
+	}
+
+	@Override public int getViewTypeCount()
+	{
+		return 1;
+	}
+
+	@Override public boolean isEmpty()
+	{
+		return getCount() == 0;
+	}
+}
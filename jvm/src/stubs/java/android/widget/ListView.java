@@ -0,0 +1,27 @@
+package android.widget;
+
+import android.content.Context;
+import android.util.AttributeSet;
+
+public class ListView extends AbsListView
+{
+	public ListView(Context context)
+	{
+		super(context);
+	}
+
+	public ListView(Context context, AttributeSet attrs)
+	{
+		super(context, attrs);
+	}
+
+	public ListView(Context context, AttributeSet attrs, int defStyle)
+	{
+		super(context, attrs, defStyle);
+	}
+
+	public int getHeaderViewsCount()
+	{
+		return 0;
+	}
+}
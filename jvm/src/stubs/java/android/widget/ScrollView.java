@@ -0,0 +1,32 @@
+package android.widget;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.View;
+
+/**
+ * Scrolls its single child, so the scroll range is the child's height
+ */
+public class ScrollView extends FrameLayout
+{
+	public ScrollView(Context context)
+	{
+		super(context);
+	}
+
+	public ScrollView(Context context, AttributeSet attrs)
+	{
+		super(context, attrs);
+	}
+
+	public ScrollView(Context context, AttributeSet attrs, int defStyle)
+	{
+		super(context, attrs, defStyle);
+	}
+
+	@Override protected int computeVerticalScrollRange()
+	{
+		View child = getChildAt(0);
+		return child == null ? getHeight() : Math.max(getHeight(), child.getBottom());
+	}
+}
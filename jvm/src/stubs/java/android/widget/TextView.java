@@ -0,0 +1,51 @@
+package android.widget;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.View;
+
+public class TextView extends View
+{
+	private CharSequence text = "";
+
+	public TextView(Context context)
+	{
+		super(context);
+	}
+
+	public TextView(Context context, AttributeSet attrs)
+	{
+		this(context, attrs, 0);
+	}
+
+	public TextView(Context context, AttributeSet attrs, int defStyle)
+	{
+		super(context, attrs, defStyle);
+
+		String text = attrs == null ? null : attrs.getAttributeValue(null, "text");
+		if (text != null && text.startsWith("@string/"))
+		{
+			setText(context.getResources().getIdentifier(text.substring(8), "string", context.getPackageName()));
+		}
+		else if (text != null)
+		{
+			setText(text);
+		}
+	}
+
+	public CharSequence getText()
+	{
+		return text;
+	}
+
+	public final void setText(CharSequence text)
+	{
+		this.text = text == null ? "" : text;
+		invalidate();
+	}
+
+	public final void setText(int resid)
+	{
+		setText(getResources().getText(resid));
+	}
+}
@@ -0,0 +1,21 @@
+package com.android.internal.widget;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.FrameLayout;
+
+/**
+ * Holds the action bar as its first child, which the overlay fades
+ */
+public class ActionBarContainer extends FrameLayout
+{
+	public ActionBarContainer(Context context)
+	{
+		super(context);
+
+		View actionBar = new View(context);
+		actionBar.layout(0, 0, 1200, 96);
+		addView(actionBar);
+		layout(0, 0, 1200, 96);
+	}
+}
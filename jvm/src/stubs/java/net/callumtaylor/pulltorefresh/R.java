@@ -0,0 +1,53 @@
+package net.callumtaylor.pulltorefresh;
+
+/**
+ * Stands in for the R class the Android build generates from res. Keep it in
+ * step with res when adding resources.
+ */
+public final class R
+{
+	public static final class attr
+	{
+		public static final int ptr_text_style = 0x7f010000;
+		public static final int ptr_progress_style = 0x7f010001;
+		public static final int ptr_progress_indeterminate_style = 0x7f010002;
+		public static final int ptr_progressColor = 0x7f010003;
+		public static final int ptr_indeterminate = 0x7f010004;
+	}
+
+	public static final class dimen
+	{
+		public static final int action_bar_default_height = 0x7f020000;
+	}
+
+	public static final class id
+	{
+		public static final int action_bar_container = 0x7f030000;
+		public static final int ptr_skip_search = 0x7f030001;
+		public static final int ptr_coordinator = 0x7f030002;
+		public static final int refresh_view = 0x7f030003;
+		public static final int refresh_text = 0x7f030004;
+		public static final int refresh_progress = 0x7f030005;
+		public static final int refresh_progress_indeterminate = 0x7f030006;
+	}
+
+	public static final class layout
+	{
+		public static final int abs_overlay = 0x7f040000;
+		public static final int abs_overlay_progress = 0x7f040001;
+	}
+
+	public static final class string
+	{
+		public static final int ptr_pull = 0x7f050000;
+		public static final int ptr_refreshing = 0x7f050001;
+		public static final int ptr_up_to_date = 0x7f050002;
+	}
+
+	public static final class styleable
+	{
+		public static final int[] RefreshProgressView = {attr.ptr_progressColor, attr.ptr_indeterminate};
+		public static final int RefreshProgressView_ptr_progressColor = 0;
+		public static final int RefreshProgressView_ptr_indeterminate = 1;
+	}
+}
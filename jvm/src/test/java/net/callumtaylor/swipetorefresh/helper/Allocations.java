@@ -0,0 +1,38 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the bytes allocated by the current thread, where the VM supports it
+ */
+final class Allocations
+{
+	private static final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+	private Allocations()
+	{
+	}
+
+	static boolean isSupported()
+	{
+		return getAllocatedBytes() >= 0;
+	}
+
+	/**
+	 * @return The bytes allocated so far by the current thread, or -1 if the VM cannot tell
+	 */
+	static long getAllocatedBytes()
+	{
+		if (bean instanceof com.sun.management.ThreadMXBean)
+		{
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)bean;
+			if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+			{
+				return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+
+		return -1;
+	}
+}
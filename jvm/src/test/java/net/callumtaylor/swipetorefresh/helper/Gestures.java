@@ -0,0 +1,80 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+/**
+ * Dispatches synthetic touch events to a view, one event per 16ms frame, running
+ * the main looper up to each event so posted tasks and frames fire in between
+ */
+final class Gestures
+{
+	static final long FRAME_MILLIS = 16;
+	private static final float X = 300f;
+
+	private static long downTime;
+
+	private Gestures()
+	{
+	}
+
+	static void down(View view, float y)
+	{
+		nextFrame();
+		downTime = SystemClock.uptimeMillis();
+		dispatch(view, MotionEvent.ACTION_DOWN, y);
+	}
+
+	static void move(View view, float y)
+	{
+		nextFrame();
+		dispatch(view, MotionEvent.ACTION_MOVE, y);
+	}
+
+	static void up(View view, float y)
+	{
+		nextFrame();
+		dispatch(view, MotionEvent.ACTION_UP, y);
+	}
+
+	/**
+	 * Puts a finger down and drags it in even steps, without lifting it
+	 * @param view
+	 * @param from
+	 * @param to
+	 * @param moves The number of move events
+	 */
+	static void drag(View view, float from, float to, int moves)
+	{
+		down(view, from);
+
+		for (int index = 1; index <= moves; index++)
+		{
+			move(view, from + (to - from) * index / moves);
+		}
+	}
+
+	/**
+	 * Drags down past the 600px threshold of the stub display and lifts the finger
+	 * @param view
+	 */
+	static void pullToRefresh(View view)
+	{
+		drag(view, 100f, 800f, 20);
+		up(view, 800f);
+	}
+
+	private static void nextFrame()
+	{
+		Looper.getMainLooper().idleFor(FRAME_MILLIS - SystemClock.uptimeMillis() % FRAME_MILLIS);
+	}
+
+	private static void dispatch(View view, int action, float y)
+	{
+		MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, X, y, 0);
+		view.dispatchTouchEvent(event);
+		event.recycle();
+	}
+}
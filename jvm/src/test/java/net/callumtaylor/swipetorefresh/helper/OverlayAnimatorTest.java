@@ -0,0 +1,162 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import net.callumtaylor.pulltorefresh.R;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Looper;
+import android.view.View;
+import android.view.animation.Animation;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+/**
+ * Runs the overlay animators through repeated pull and cancel cycles and checks
+ * the animations are built once and reused
+ */
+public class OverlayAnimatorTest
+{
+	private static final int CYCLES = 20;
+
+	private Activity activity;
+	private FrameLayout overlay;
+	private TextView text;
+	private View abs, indeterminate;
+
+	@Before public void setUp()
+	{
+		activity = new Activity();
+
+		FrameLayout container = new FrameLayout(activity);
+		container.layout(0, 0, 1200, 96);
+
+		abs = new View(activity);
+		overlay = new FrameLayout(activity);
+		overlay.setVisibility(View.GONE);
+		text = new TextView(activity);
+		overlay.addView(text);
+		indeterminate = new View(activity);
+
+		container.addView(abs);
+		container.addView(overlay);
+		container.addView(indeterminate);
+		activity.setContentView(container);
+	}
+
+	@After public void tearDown()
+	{
+		Build.VERSION.SDK_INT = Build.VERSION_CODES.KITKAT;
+	}
+
+	private OverlayAnimator create(int sdk)
+	{
+		Build.VERSION.SDK_INT = sdk;
+		return OverlayAnimator.create(overlay, text, abs, indeterminate);
+	}
+
+	/**
+	 * Pulls the overlay in, refreshes, and slides it back out, letting each animation finish
+	 */
+	private void cycle(OverlayAnimator animator)
+	{
+		animator.pullIn();
+		Looper.getMainLooper().idleFor(500);
+
+		indeterminate.setVisibility(View.VISIBLE);
+		animator.fadeOutIndeterminate();
+		animator.pullOut();
+		Looper.getMainLooper().idleFor(500);
+	}
+
+	@Test public void legacyAnimatorReusesItsAnimations()
+	{
+		OverlayAnimator animator = create(Build.VERSION_CODES.GINGERBREAD);
+		assertTrue(animator instanceof LegacyOverlayAnimator);
+
+		animator.pullIn();
+		Animation pullIn = overlay.getAnimation();
+		Animation absFadeOut = abs.getAnimation();
+		Looper.getMainLooper().idleFor(500);
+
+		animator.pullOut();
+		Animation pullOut = overlay.getAnimation();
+		Looper.getMainLooper().idleFor(500);
+
+		for (int index = 0; index < CYCLES; index++)
+		{
+			animator.pullIn();
+			assertSame(pullIn, overlay.getAnimation());
+			assertSame(absFadeOut, abs.getAnimation());
+			Looper.getMainLooper().idleFor(500);
+
+			animator.pullOut();
+			assertSame(pullOut, overlay.getAnimation());
+			assertTrue(animator.isSlidingOut());
+			Looper.getMainLooper().idleFor(500);
+
+			assertOverlayHidden(animator);
+		}
+	}
+
+	@Test public void legacyCyclesAllocateNothingAfterWarmUp()
+	{
+		assertCyclesAllocateNothing(create(Build.VERSION_CODES.GINGERBREAD));
+	}
+
+	@Test public void hardwareAnimatorRestoresViewsAfterEachCycle()
+	{
+		OverlayAnimator animator = create(Build.VERSION_CODES.KITKAT);
+		assertTrue(animator instanceof HardwareOverlayAnimator);
+
+		for (int index = 0; index < CYCLES; index++)
+		{
+			cycle(animator);
+
+			assertOverlayHidden(animator);
+			assertEquals(0f, overlay.getTranslationY(), 0f);
+			assertEquals(1f, overlay.getAlpha(), 0f);
+			assertEquals(1f, abs.getAlpha(), 0f);
+			assertEquals(View.LAYER_TYPE_NONE, overlay.getLayerType());
+			assertEquals(View.GONE, indeterminate.getVisibility());
+		}
+	}
+
+	@Test public void hardwareCyclesAllocateNothingAfterWarmUp()
+	{
+		assertCyclesAllocateNothing(create(Build.VERSION_CODES.KITKAT));
+	}
+
+	private void assertCyclesAllocateNothing(OverlayAnimator animator)
+	{
+		assumeTrue(Allocations.isSupported());
+
+		cycle(animator);
+		cycle(animator);
+
+		final long start = Allocations.getAllocatedBytes();
+		for (int index = 0; index < CYCLES; index++)
+		{
+			cycle(animator);
+		}
+
+		assertEquals(0, Allocations.getAllocatedBytes() - start);
+		assertOverlayHidden(animator);
+	}
+
+	private void assertOverlayHidden(OverlayAnimator animator)
+	{
+		assertFalse(animator.isAnimating());
+		assertEquals(View.GONE, overlay.getVisibility());
+		assertEquals(activity.getString(R.string.ptr_pull), text.getText());
+	}
+}
@@ -0,0 +1,251 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import static net.callumtaylor.swipetorefresh.helper.PullStateMachine.ACTION_CANCEL;
+import static net.callumtaylor.swipetorefresh.helper.PullStateMachine.ACTION_DOWN;
+import static net.callumtaylor.swipetorefresh.helper.PullStateMachine.ACTION_MOVE;
+import static net.callumtaylor.swipetorefresh.helper.PullStateMachine.ACTION_UP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import net.callumtaylor.swipetorefresh.helper.PullStateMachine.State;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PullStateMachineTest
+{
+	private static final float SLOP = 10f;
+	private static final float THRESHOLD = 100f;
+
+	private FakeHost host;
+	private PullStateMachine machine;
+
+	@Before public void setUp()
+	{
+		host = new FakeHost();
+		machine = new PullStateMachine(host);
+		host.machine = machine;
+		machine.setTouchSlop(SLOP);
+		machine.setThreshold(THRESHOLD);
+	}
+
+	/**
+	 * Pulls down from 0 through each of the given positions, one sample every 10ms
+	 */
+	private void pull(float... positions)
+	{
+		machine.onTouchEvent(ACTION_DOWN, 0f, 0);
+		machine.onTouchEvent(ACTION_MOVE, 0f, 0);
+
+		long time = 0;
+		for (float y : positions)
+		{
+			machine.onTouchEvent(ACTION_MOVE, y, time += 10);
+		}
+	}
+
+	@Test public void moveWithinSlopDoesNotStartPull()
+	{
+		pull(5f, SLOP);
+
+		assertEquals(State.ARMED, machine.getState());
+		assertEquals(0, host.pullStarted);
+		assertEquals(0, host.progressCount);
+	}
+
+	@Test public void moveBeyondSlopStartsPull()
+	{
+		pull(SLOP + 1);
+
+		assertEquals(State.DRAGGING, machine.getState());
+		assertEquals(1, host.pullStarted);
+	}
+
+	@Test public void progressIsFractionOfThreshold()
+	{
+		pull(20f, 60f, 110f);
+
+		assertEquals(0.6f, host.lastProgress, 0.0001f);
+		assertEquals(0, host.thresholdReached);
+	}
+
+	@Test public void thresholdTriggersOnceWithPullDuration()
+	{
+		pull(20f, 60f, 110f, 120f, 200f, 300f);
+
+		assertEquals(1, host.thresholdReached);
+		assertTrue(machine.isTriggered());
+		// The pull started at the 20 sample (10ms) and triggered at the 120 sample (40ms)
+		assertEquals(30, host.lastPullDuration);
+	}
+
+	@Test public void triggeredIgnoresSamplesUntilUp()
+	{
+		pull(20f, 60f, 110f, 120f);
+
+		assertFalse(machine.onTouchEvent(ACTION_MOVE, 130f, 100));
+
+		machine.onTouchEvent(ACTION_UP, 130f, 110);
+		assertFalse(machine.isTriggered());
+		assertEquals(State.IDLE, machine.getState());
+
+		pull(20f, 60f, 110f, 120f);
+		assertEquals(2, host.thresholdReached);
+	}
+
+	@Test public void earlyTriggerHookTriggersBeforeThreshold()
+	{
+		host.triggerEarlyAfter = 30f;
+		pull(20f, 40f, 60f);
+
+		assertEquals(1, host.thresholdReached);
+		assertEquals(40f, host.lastEarlyScrollLength, 0.0001f);
+		assertEquals(THRESHOLD, host.lastEarlyThreshold, 0.0001f);
+	}
+
+	@Test public void releaseBeforeThresholdEndsPull()
+	{
+		pull(20f, 60f);
+		machine.onTouchEvent(ACTION_UP, 60f, 100);
+
+		assertEquals(1, host.pullEnded);
+		assertEquals(State.IDLE, machine.getState());
+	}
+
+	@Test public void cancelEndsPull()
+	{
+		pull(20f, 60f);
+		machine.onTouchEvent(ACTION_CANCEL, 60f, 100);
+
+		assertEquals(1, host.pullEnded);
+		assertEquals(State.IDLE, machine.getState());
+	}
+
+	@Test public void releaseWhileRefreshingDoesNotEndPull()
+	{
+		host.refreshOnThreshold = true;
+		pull(20f, 60f, 110f, 120f);
+		machine.onTouchEvent(ACTION_UP, 120f, 100);
+
+		assertTrue(machine.isRefreshing());
+		assertEquals(0, host.pullEnded);
+	}
+
+	@Test public void downMidDragEndsPreviousPull()
+	{
+		pull(20f, 60f);
+		machine.onTouchEvent(ACTION_DOWN, 0f, 100);
+
+		assertEquals(1, host.pullEnded);
+		assertEquals(State.IDLE, machine.getState());
+	}
+
+	@Test public void downWhileArmedDoesNotEndPull()
+	{
+		pull(5f);
+		machine.onTouchEvent(ACTION_DOWN, 0f, 100);
+
+		assertEquals(0, host.pullEnded);
+		assertEquals(State.IDLE, machine.getState());
+	}
+
+	@Test public void upwardMoveBeyondSlopResetsPull()
+	{
+		pull(20f, 60f, 60f - SLOP - 1);
+
+		assertEquals(1, host.pullEnded);
+		assertEquals(State.IDLE, machine.getState());
+	}
+
+	@Test public void doesNotArmWhenNotAtTop()
+	{
+		host.canStart = false;
+		machine.onTouchEvent(ACTION_DOWN, 0f, 0);
+
+		assertFalse(machine.onTouchEvent(ACTION_MOVE, 50f, 10));
+		assertEquals(State.IDLE, machine.getState());
+	}
+
+	@Test public void doesNotArmWithoutRefreshListener()
+	{
+		host.canRefresh = false;
+		pull(20f, 60f);
+
+		assertEquals(State.IDLE, machine.getState());
+		assertEquals(0, host.pullStarted);
+	}
+
+	@Test public void refreshCompleteStopsTrackingWithoutEndingPull()
+	{
+		pull(20f, 60f);
+		machine.onRefreshComplete();
+
+		assertEquals(State.IDLE, machine.getState());
+		assertEquals(0, host.pullEnded);
+	}
+
+	private static class FakeHost implements PullStateMachine.Host
+	{
+		PullStateMachine machine;
+		boolean atTop = true, canStart = true, canRefresh = true, refreshOnThreshold;
+		float triggerEarlyAfter = Float.MAX_VALUE;
+		int pullStarted, progressCount, thresholdReached, pullEnded, resetTouch;
+		float lastProgress, lastEarlyScrollLength, lastEarlyThreshold;
+		long lastPullDuration;
+
+		@Override public boolean isScrolledToTop()
+		{
+			return atTop;
+		}
+
+		@Override public boolean canStartRefreshing()
+		{
+			return canStart;
+		}
+
+		@Override public boolean canRefresh()
+		{
+			return canRefresh;
+		}
+
+		@Override public void onPullStarted()
+		{
+			pullStarted++;
+		}
+
+		@Override public void onPullProgress(float percentage)
+		{
+			progressCount++;
+			lastProgress = percentage;
+		}
+
+		@Override public boolean shouldTriggerEarly(float scrollLength, float threshold)
+		{
+			lastEarlyScrollLength = scrollLength;
+			lastEarlyThreshold = threshold;
+			return scrollLength >= triggerEarlyAfter;
+		}
+
+		@Override public void onThresholdReached(long pullDuration)
+		{
+			thresholdReached++;
+			lastPullDuration = pullDuration;
+
+			if (refreshOnThreshold)
+			{
+				machine.setRefreshing(true);
+			}
+		}
+
+		@Override public void onPullEnded()
+		{
+			pullEnded++;
+		}
+
+		@Override public void onResetTouch()
+		{
+			resetTouch++;
+		}
+	}
+}
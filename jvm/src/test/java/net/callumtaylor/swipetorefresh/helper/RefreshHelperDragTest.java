@@ -0,0 +1,92 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import net.callumtaylor.pulltorefresh.R;
+import net.callumtaylor.swipetorefresh.helper.RefreshHelper.OnRefreshListener;
+import net.callumtaylor.swipetorefresh.view.RefreshProgressView;
+import net.callumtaylor.swipetorefresh.view.RefreshableListView;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import android.app.Activity;
+import android.os.Looper;
+
+/**
+ * Drags a wrapped list 500 times without reaching the threshold and checks the
+ * pull progress path neither allocates nor redraws the bar more than needed
+ */
+public class RefreshHelperDragTest
+{
+	private static final int MOVES = 500;
+
+	/**
+	 * Stays short of the 600px threshold of the stub display
+	 */
+	private static final float FROM = 100f, TO = 680f;
+
+	private Activity activity;
+	private RefreshableListView list;
+	private int refreshCount;
+
+	@Before public void setUp()
+	{
+		activity = new Activity();
+		list = new RefreshableListView(activity);
+		list.layout(0, 0, 1200, 1700);
+		activity.setContentView(list);
+
+		RefreshHelper.wrapRefreshable(activity, list, new OnRefreshListener()
+		{
+			@Override public void onRefresh()
+			{
+				refreshCount++;
+			}
+		});
+	}
+
+	private void dragAndRelease()
+	{
+		Gestures.drag(list, FROM, TO, MOVES);
+		Gestures.up(list, TO);
+
+		// Let the overlay slide out and its text reset
+		Looper.getMainLooper().idleFor(1000);
+	}
+
+	@Test public void dragAllocatesNothingAfterWarmUp()
+	{
+		assumeTrue(Allocations.isSupported());
+
+		// The first pull inflates the overlay and builds its animations
+		dragAndRelease();
+		dragAndRelease();
+
+		final long start = Allocations.getAllocatedBytes();
+		Gestures.drag(list, FROM, TO, MOVES);
+		final long bytes = Allocations.getAllocatedBytes() - start;
+
+		Gestures.up(list, TO);
+
+		assertEquals(0, refreshCount);
+		assertEquals(0, bytes);
+	}
+
+	@Test public void progressBarOnlyRedrawsWhenRoundedProgressChanges()
+	{
+		dragAndRelease();
+
+		RefreshProgressView bar = (RefreshProgressView)activity.getWindow().getDecorView().findViewById(R.id.refresh_progress);
+		final int start = bar.getInvalidationCount();
+		Gestures.drag(list, FROM, TO, MOVES);
+		final int invalidations = bar.getInvalidationCount() - start;
+
+		// The rounded progress takes at most 101 values, plus showing the bar once
+		assertTrue(bar.getProgress() > 50);
+		assertTrue("invalidated " + invalidations + " times", invalidations <= 102);
+		assertEquals(0, refreshCount);
+	}
+}
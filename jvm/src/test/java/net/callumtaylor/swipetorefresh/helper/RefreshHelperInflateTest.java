@@ -0,0 +1,91 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import net.callumtaylor.pulltorefresh.R;
+import net.callumtaylor.swipetorefresh.helper.RefreshHelper.OnRefreshListener;
+import net.callumtaylor.swipetorefresh.view.RefreshableListView;
+import net.callumtaylor.swipetorefresh.view.RefreshableScrollView;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.LayoutInflater;
+import android.widget.FrameLayout;
+
+/**
+ * Checks wrapping does not inflate the overlay, and that the first pull inflates
+ * it once for every helper in the activity
+ */
+public class RefreshHelperInflateTest
+{
+	private static final OnRefreshListener LISTENER = new OnRefreshListener()
+	{
+		@Override public void onRefresh()
+		{
+		}
+	};
+
+	private Activity activity;
+	private RefreshableListView list;
+	private RefreshableScrollView scroll;
+
+	@Before public void setUp()
+	{
+		activity = new Activity();
+
+		FrameLayout content = new FrameLayout(activity);
+		list = new RefreshableListView(activity);
+		list.layout(0, 0, 1200, 1700);
+		content.addView(list);
+		scroll = new RefreshableScrollView(activity);
+		scroll.layout(0, 0, 1200, 1700);
+		content.addView(scroll);
+
+		activity.setContentView(content);
+	}
+
+	@Test public void wrapDoesNotInflateOverlay()
+	{
+		final int inflated = LayoutInflater.getInflateCount();
+
+		RefreshHelper.reset(activity);
+		RefreshHelper.wrapRefreshable(activity, list, LISTENER);
+		RefreshHelper.wrapRefreshable(activity, scroll, LISTENER);
+
+		assertEquals(inflated, LayoutInflater.getInflateCount());
+		assertNull(activity.findViewById(R.id.refresh_view));
+		assertNull(activity.findViewById(R.id.refresh_progress_indeterminate));
+	}
+
+	@Test public void firstPullInflatesOverlayOnce()
+	{
+		RefreshHelper.wrapRefreshable(activity, list, LISTENER);
+		RefreshHelper helper = RefreshHelper.wrapRefreshable(activity, scroll, LISTENER);
+
+		final int inflated = LayoutInflater.getInflateCount();
+
+		// Past the touch slop but short of the threshold
+		Gestures.drag(list, 100f, 300f, 10);
+		Gestures.up(list, 300f);
+		Looper.getMainLooper().idleFor(1000);
+
+		assertEquals(inflated + 2, LayoutInflater.getInflateCount());
+		assertNotNull(activity.findViewById(R.id.refresh_view));
+		assertNotNull(activity.findViewById(R.id.refresh_progress_indeterminate));
+
+		// The other helper shares the overlay, so its refresh inflates nothing more
+		Gestures.pullToRefresh(scroll);
+		Looper.getMainLooper().idleFor(1000);
+		assertTrue(helper.isRefreshing());
+		helper.finish();
+		Looper.getMainLooper().idleFor(1000);
+
+		assertEquals(inflated + 2, LayoutInflater.getInflateCount());
+	}
+}
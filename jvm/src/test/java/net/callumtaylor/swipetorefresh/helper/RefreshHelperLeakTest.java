@@ -0,0 +1,129 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.callumtaylor.swipetorefresh.helper.RefreshHelper.OnRefreshListener;
+import net.callumtaylor.swipetorefresh.view.RefreshableListView;
+
+import org.junit.After;
+import org.junit.Test;
+
+import android.app.Activity;
+import android.os.Build;
+
+/**
+ * Creates and destroys activities whose helpers are mid-refresh, with the overlay
+ * still animating and its resets still posted, and checks none of them are kept
+ */
+public class RefreshHelperLeakTest
+{
+	private static final int ACTIVITIES = 1000;
+
+	@After public void tearDown()
+	{
+		Build.VERSION.SDK_INT = Build.VERSION_CODES.KITKAT;
+	}
+
+	@Test public void activitiesAreReleasedWhenDestroyed()
+	{
+		final int callbacks = new Activity().getApplication().getActivityLifecycleCallbackCount();
+
+		List<RefreshHelper> helpers = new ArrayList<RefreshHelper>();
+		List<WeakReference<Activity>> activities = createAndDestroy(helpers, false);
+
+		for (RefreshHelper helper : helpers)
+		{
+			assertTrue(helper.isDestroyed());
+		}
+
+		assertEquals(callbacks, new Activity().getApplication().getActivityLifecycleCallbackCount());
+		assertEquals(0, countRetained(activities));
+	}
+
+	@Test public void activitiesAreReleasedWhenDestroyedBelowApi14()
+	{
+		Build.VERSION.SDK_INT = Build.VERSION_CODES.GINGERBREAD_MR1;
+
+		List<RefreshHelper> helpers = new ArrayList<RefreshHelper>();
+		List<WeakReference<Activity>> activities = createAndDestroy(helpers, true);
+
+		assertEquals(0, countRetained(activities));
+	}
+
+	/**
+	 * The helpers are kept, as a fragment that outlives its activity would, but the
+	 * activities are only weakly referenced
+	 * @param helpers Filled with the helpers
+	 * @param destroyHelpers Whether to destroy the helpers from onDestroy, as below API 14
+	 * @return References to the destroyed activities
+	 */
+	private static List<WeakReference<Activity>> createAndDestroy(List<RefreshHelper> helpers, final boolean destroyHelpers)
+	{
+		List<WeakReference<Activity>> activities = new ArrayList<WeakReference<Activity>>();
+
+		for (int index = 0; index < ACTIVITIES; index++)
+		{
+			final RefreshHelper[] helper = new RefreshHelper[1];
+			Activity activity = new Activity()
+			{
+				@Override protected void onDestroy()
+				{
+					if (destroyHelpers)
+					{
+						helper[0].destroy();
+					}
+
+					super.onDestroy();
+				}
+			};
+
+			RefreshableListView list = new RefreshableListView(activity);
+			list.layout(0, 0, 1200, 1700);
+			activity.setContentView(list);
+
+			helper[0] = RefreshHelper.wrapRefreshable(activity, list, new OnRefreshListener()
+			{
+				@Override public void onRefresh()
+				{
+					// Never finishes, so the activity is destroyed mid-refresh
+				}
+			});
+
+			Gestures.pullToRefresh(list);
+			assertTrue(helper[0].isRefreshing());
+
+			activity.performDestroy();
+			helpers.add(helper[0]);
+			activities.add(new WeakReference<Activity>(activity));
+		}
+
+		return activities;
+	}
+
+	private static int countRetained(List<WeakReference<Activity>> activities)
+	{
+		int retained = activities.size();
+
+		for (int attempt = 0; attempt < 10 && retained > 0; attempt++)
+		{
+			System.gc();
+			System.runFinalization();
+
+			retained = 0;
+			for (WeakReference<Activity> activity : activities)
+			{
+				if (activity.get() != null)
+				{
+					retained++;
+				}
+			}
+		}
+
+		return retained;
+	}
+}
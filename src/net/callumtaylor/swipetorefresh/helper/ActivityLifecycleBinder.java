@@ -0,0 +1,48 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import android.annotation.TargetApi;
+import android.app.Activity;
+import android.app.Application;
+import android.os.Build;
+import android.os.Bundle;
+
+/**
+ * Destroys a {@link RefreshCoordinator}'s helpers when its activity is
+ * destroyed, then unregisters itself so nothing is left holding the activity
+ */
+@TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+class ActivityLifecycleBinder implements Application.ActivityLifecycleCallbacks
+{
+	private final Application application;
+	private final Activity activity;
+	private final RefreshCoordinator coordinator;
+
+	private ActivityLifecycleBinder(Activity activity, RefreshCoordinator coordinator)
+	{
+		this.application = activity.getApplication();
+		this.activity = activity;
+		this.coordinator = coordinator;
+	}
+
+	public static void bind(Activity activity, RefreshCoordinator coordinator)
+	{
+		ActivityLifecycleBinder binder = new ActivityLifecycleBinder(activity, coordinator);
+		binder.application.registerActivityLifecycleCallbacks(binder);
+	}
+
+	@Override public void onActivityDestroyed(Activity activity)
+	{
+		if (activity == this.activity)
+		{
+			application.unregisterActivityLifecycleCallbacks(this);
+			coordinator.destroy();
+		}
+	}
+
+	@Override public void onActivityCreated(Activity activity, Bundle savedInstanceState){}
+	@Override public void onActivityStarted(Activity activity){}
+	@Override public void onActivityResumed(Activity activity){}
+	@Override public void onActivityPaused(Activity activity){}
+	@Override public void onActivityStopped(Activity activity){}
+	@Override public void onActivitySaveInstanceState(Activity activity, Bundle outState){}
+}
@@ -0,0 +1,78 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.util.DisplayMetrics;
+import android.view.ViewConfiguration;
+import android.view.WindowManager;
+
+/**
+ * Process wide cache of the display metrics and scaled touch slop used by
+ * every {@link RefreshDelegate}. The values are loaded once per configuration,
+ * so creating a refreshable view does no system service work, and are reloaded
+ * when a context with a different configuration asks for them, such as after
+ * a rotation or on another display.
+ *
+ * Only touched from the main thread.
+ */
+final class DisplayCache
+{
+	private static Configuration configuration;
+	private static DisplayMetrics metrics;
+	private static int touchSlop;
+
+	private DisplayCache()
+	{
+	}
+
+	/**
+	 * @param context
+	 * @return The metrics of the default display. The returned instance is never
+	 * changed, a new one is created when the configuration changes
+	 */
+	public static DisplayMetrics getMetrics(Context context)
+	{
+		validate(context);
+		return metrics;
+	}
+
+	/**
+	 * @param context
+	 * @return The scaled touch slop in pixels
+	 */
+	public static int getTouchSlop(Context context)
+	{
+		validate(context);
+		return touchSlop;
+	}
+
+	/**
+	 * Drops the cached values if they were loaded for a different configuration
+	 * @param newConfig
+	 */
+	public static void onConfigurationChanged(Configuration newConfig)
+	{
+		if (configuration != null && !configuration.equals(newConfig))
+		{
+			configuration = null;
+			metrics = null;
+		}
+	}
+
+	private static void validate(Context context)
+	{
+		final Configuration current = context.getResources().getConfiguration();
+		if (metrics != null && current.equals(configuration))
+		{
+			return;
+		}
+
+		DisplayMetrics dm = new DisplayMetrics();
+		WindowManager window = (WindowManager)context.getSystemService(Context.WINDOW_SERVICE);
+		window.getDefaultDisplay().getMetrics(dm);
+
+		metrics = dm;
+		touchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+		configuration = new Configuration(current);
+	}
+}
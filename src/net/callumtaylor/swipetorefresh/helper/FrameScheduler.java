@@ -0,0 +1,118 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.view.Choreographer;
+
+/**
+ * Runs a single task at most once per frame. Uses {@link Choreographer} on
+ * API 16+ and falls back to posting to the main thread handler below that.
+ */
+abstract class FrameScheduler
+{
+	protected final Runnable task;
+	protected boolean scheduled;
+
+	protected FrameScheduler(Runnable task)
+	{
+		this.task = task;
+	}
+
+	public static FrameScheduler create(Runnable task)
+	{
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+		{
+			return new ChoreographerFrameScheduler(task);
+		}
+
+		return new HandlerFrameScheduler(task);
+	}
+
+	/**
+	 * Schedules the task for the next frame if it is not already scheduled
+	 */
+	public void schedule()
+	{
+		if (!scheduled)
+		{
+			scheduled = true;
+			post();
+		}
+	}
+
+	/**
+	 * Removes the task if it has been scheduled
+	 */
+	public void cancel()
+	{
+		if (scheduled)
+		{
+			scheduled = false;
+			remove();
+		}
+	}
+
+	public boolean isScheduled()
+	{
+		return scheduled;
+	}
+
+	protected void dispatch()
+	{
+		scheduled = false;
+		task.run();
+	}
+
+	protected abstract void post();
+	protected abstract void remove();
+
+	@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+	private static class ChoreographerFrameScheduler extends FrameScheduler implements Choreographer.FrameCallback
+	{
+		public ChoreographerFrameScheduler(Runnable task)
+		{
+			super(task);
+		}
+
+		@Override protected void post()
+		{
+			Choreographer.getInstance().postFrameCallback(this);
+		}
+
+		@Override protected void remove()
+		{
+			Choreographer.getInstance().removeFrameCallback(this);
+		}
+
+		@Override public void doFrame(long frameTimeNanos)
+		{
+			dispatch();
+		}
+	}
+
+	private static class HandlerFrameScheduler extends FrameScheduler implements Runnable
+	{
+		private final Handler handler = new Handler();
+
+		public HandlerFrameScheduler(Runnable task)
+		{
+			super(task);
+		}
+
+		@Override protected void post()
+		{
+			handler.post(this);
+		}
+
+		@Override protected void remove()
+		{
+			handler.removeCallbacks(this);
+		}
+
+		@Override public void run()
+		{
+			dispatch();
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import net.callumtaylor.pulltorefresh.R;
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.View;
+import android.view.animation.LinearInterpolator;
+import android.widget.TextView;
+
+/**
+ * Overlay animator built on {@link ValueAnimator} for API 12+. The animated
+ * views are given a hardware layer for the length of the transition so each
+ * frame is composited rather than redrawn, and the final state is written to
+ * the view properties so no fill state is left behind.
+ *
+ * Each animator runs from 0 to 1 and applies its own start and end values, so
+ * the keyframes are built once and repeated pulls do not allocate.
+ */
+@TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
+class HardwareOverlayAnimator extends OverlayAnimator
+{
+	private static final long SLIDE_DURATION = 300;
+	private static final long FADE_DURATION = 400;
+
+	private final ValueAnimator slide, absFade, indeterminateFade;
+	private boolean slidingOut;
+
+	private float slideFrom, slideTo;
+	private float overlayAlphaFrom, overlayAlphaTo;
+	private long overlayAlphaDuration;
+	private float absAlphaFrom, absAlphaTo;
+	private float indeterminateAlphaFrom;
+
+	public HardwareOverlayAnimator(View overlay, TextView text, View abs, View indeterminate)
+	{
+		super(overlay, text, abs, indeterminate);
+
+		LinearInterpolator interpolator = new LinearInterpolator();
+
+		slide = ValueAnimator.ofFloat(0f, 1f);
+		slide.setInterpolator(interpolator);
+		slide.setDuration(SLIDE_DURATION);
+		slide.addUpdateListener(new ValueAnimator.AnimatorUpdateListener()
+		{
+			@Override public void onAnimationUpdate(ValueAnimator animation)
+			{
+				final float fraction = animation.getAnimatedFraction();
+				final float alphaFraction = Math.min(1f, fraction * SLIDE_DURATION / overlayAlphaDuration);
+
+				HardwareOverlayAnimator.this.overlay.setTranslationY(slideFrom + (slideTo - slideFrom) * fraction);
+				HardwareOverlayAnimator.this.overlay.setAlpha(overlayAlphaFrom + (overlayAlphaTo - overlayAlphaFrom) * alphaFraction);
+			}
+		});
+		slide.addListener(new LayerListener(overlay)
+		{
+			@Override public void onAnimationEnd(Animator animation)
+			{
+				super.onAnimationEnd(animation);
+
+				if (!canceled && slidingOut)
+				{
+					HardwareOverlayAnimator.this.overlay.setVisibility(View.GONE);
+					HardwareOverlayAnimator.this.overlay.setTranslationY(0f);
+					HardwareOverlayAnimator.this.overlay.setAlpha(1f);
+					HardwareOverlayAnimator.this.text.setText(R.string.ptr_pull);
+				}
+			}
+		});
+
+		absFade = ValueAnimator.ofFloat(0f, 1f);
+		absFade.setInterpolator(interpolator);
+		absFade.setDuration(FADE_DURATION);
+		absFade.addUpdateListener(new ValueAnimator.AnimatorUpdateListener()
+		{
+			@Override public void onAnimationUpdate(ValueAnimator animation)
+			{
+				HardwareOverlayAnimator.this.abs.setAlpha(absAlphaFrom + (absAlphaTo - absAlphaFrom) * animation.getAnimatedFraction());
+			}
+		});
+		absFade.addListener(new LayerListener(abs));
+
+		indeterminateFade = ValueAnimator.ofFloat(0f, 1f);
+		indeterminateFade.setInterpolator(interpolator);
+		indeterminateFade.setDuration(FADE_DURATION);
+		indeterminateFade.addUpdateListener(new ValueAnimator.AnimatorUpdateListener()
+		{
+			@Override public void onAnimationUpdate(ValueAnimator animation)
+			{
+				HardwareOverlayAnimator.this.indeterminate.setAlpha(indeterminateAlphaFrom * (1f - animation.getAnimatedFraction()));
+			}
+		});
+		indeterminateFade.addListener(new LayerListener(indeterminate)
+		{
+			@Override public void onAnimationEnd(Animator animation)
+			{
+				super.onAnimationEnd(animation);
+
+				if (!canceled)
+				{
+					HardwareOverlayAnimator.this.indeterminate.setVisibility(View.GONE);
+					HardwareOverlayAnimator.this.indeterminate.setAlpha(1f);
+				}
+			}
+		});
+	}
+
+	private float getSlideDistance()
+	{
+		View parent = (View)overlay.getParent();
+		return parent != null ? parent.getHeight() : overlay.getHeight();
+	}
+
+	@Override public void pullIn()
+	{
+		slide.cancel();
+		absFade.cancel();
+
+		slidingOut = false;
+		overlay.setVisibility(View.VISIBLE);
+
+		slideFrom = -getSlideDistance();
+		slideTo = 0f;
+		overlayAlphaFrom = 0f;
+		overlayAlphaTo = 1f;
+		overlayAlphaDuration = 100;
+		absAlphaFrom = abs.getAlpha();
+		absAlphaTo = 0f;
+
+		absFade.start();
+		slide.start();
+	}
+
+	@Override public void pullOut()
+	{
+		slide.cancel();
+		absFade.cancel();
+
+		slidingOut = true;
+
+		slideFrom = overlay.getTranslationY();
+		slideTo = -getSlideDistance();
+		overlayAlphaFrom = overlay.getAlpha();
+		overlayAlphaTo = 0f;
+		overlayAlphaDuration = SLIDE_DURATION;
+		absAlphaFrom = abs.getAlpha();
+		absAlphaTo = 1f;
+
+		absFade.start();
+		slide.start();
+	}
+
+	@Override public void fadeOutIndeterminate()
+	{
+		indeterminateFade.cancel();
+		indeterminateAlphaFrom = indeterminate.getAlpha();
+		indeterminateFade.start();
+	}
+
+	@Override public boolean isAnimating()
+	{
+		return slide.isRunning();
+	}
+
+	@Override public boolean isSlidingOut()
+	{
+		return slidingOut && slide.isRunning();
+	}
+
+	/**
+	 * Running animators are referenced by the animation handler, so they are ended
+	 * rather than left to hold on to their views
+	 */
+	@Override public void end()
+	{
+		end(slide);
+		end(absFade);
+		end(indeterminateFade);
+	}
+
+	private static void end(ValueAnimator animator)
+	{
+		// Ending an animator that has not started would jump its view to the end values
+		if (animator.isStarted())
+		{
+			animator.end();
+		}
+	}
+
+	/**
+	 * Applies a hardware layer to the view while the animation is running
+	 */
+	private static class LayerListener extends AnimatorListenerAdapter
+	{
+		private final View view;
+		protected boolean canceled;
+
+		public LayerListener(View view)
+		{
+			this.view = view;
+		}
+
+		@Override public void onAnimationStart(Animator animation)
+		{
+			canceled = false;
+			view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+		}
+
+		@Override public void onAnimationCancel(Animator animation)
+		{
+			canceled = true;
+		}
+
+		@Override public void onAnimationEnd(Animator animation)
+		{
+			view.setLayerType(View.LAYER_TYPE_NONE, null);
+		}
+	}
+}
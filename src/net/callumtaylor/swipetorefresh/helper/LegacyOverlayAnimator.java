@@ -0,0 +1,221 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import net.callumtaylor.pulltorefresh.R;
+import android.view.View;
+import android.view.animation.AlphaAnimation;
+import android.view.animation.Animation;
+import android.view.animation.Animation.AnimationListener;
+import android.view.animation.AnimationSet;
+import android.view.animation.LinearInterpolator;
+import android.view.animation.TranslateAnimation;
+import android.widget.TextView;
+
+/**
+ * Overlay animator built on the legacy {@link Animation} classes, used on
+ * devices below API 12. The animations are built once and reset on each use,
+ * so repeated pulls do not create any new objects.
+ */
+class LegacyOverlayAnimator extends OverlayAnimator
+{
+	private AnimationSet pullSet, cancelSet;
+	private AlphaAnimation absFadeOut, absFadeIn, indeterminateFadeOut;
+
+	public LegacyOverlayAnimator(View overlay, TextView text, View abs, View indeterminate)
+	{
+		super(overlay, text, abs, indeterminate);
+		buildAnimations();
+	}
+
+	private void buildAnimations()
+	{
+		pullSet = createPullIn(overlay);
+		cancelSet = createPullOut(overlay, text);
+		absFadeOut = createActionBarFade(1.0f, 0.0f);
+		absFadeIn = createActionBarFade(0.0f, 1.0f);
+		indeterminateFadeOut = createFadeOut(indeterminate);
+	}
+
+	/**
+	 * @param overlay
+	 * @return An animation that slides the overlay in from above and fades it in
+	 */
+	static AnimationSet createPullIn(final View overlay)
+	{
+		LinearInterpolator interpolator = new LinearInterpolator();
+		AnimationSet pullSet = new AnimationSet(true);
+		{
+			TranslateAnimation translate = new TranslateAnimation
+			(
+				Animation.RELATIVE_TO_SELF,
+				0f,
+				Animation.RELATIVE_TO_SELF,
+				0f,
+				Animation.RELATIVE_TO_PARENT,
+				-1f,
+				Animation.RELATIVE_TO_PARENT,
+				0f
+			);
+
+			translate.setFillAfter(true);
+			translate.setDuration(300);
+			translate.setInterpolator(interpolator);
+
+			AlphaAnimation alpha = new AlphaAnimation(0.0f, 1.0f);
+			alpha.setFillAfter(true);
+			alpha.setFillBefore(true);
+			alpha.setDuration(100);
+			alpha.setInterpolator(interpolator);
+
+			pullSet.addAnimation(translate);
+			pullSet.addAnimation(alpha);
+		}
+
+		pullSet.setAnimationListener(new AnimationListener()
+		{
+			@Override public void onAnimationEnd(Animation animation){}
+
+			@Override public void onAnimationRepeat(Animation animation){}
+			@Override public void onAnimationStart(Animation animation)
+			{
+				overlay.setVisibility(View.VISIBLE);
+			}
+		});
+
+		return pullSet;
+	}
+
+	/**
+	 * @param overlay
+	 * @param text The overlay's text, reset once the overlay is hidden
+	 * @return An animation that slides the overlay back up and fades it out
+	 */
+	static AnimationSet createPullOut(final View overlay, final TextView text)
+	{
+		LinearInterpolator interpolator = new LinearInterpolator();
+		AnimationSet cancelSet = new AnimationSet(true);
+		{
+			TranslateAnimation translate = new TranslateAnimation
+			(
+				Animation.RELATIVE_TO_SELF,
+				0f,
+				Animation.RELATIVE_TO_SELF,
+				0f,
+				Animation.RELATIVE_TO_PARENT,
+				0f,
+				Animation.RELATIVE_TO_PARENT,
+				-1f
+			);
+
+			translate.setDuration(300);
+			translate.setInterpolator(interpolator);
+
+			AlphaAnimation alpha = new AlphaAnimation(1.0f, 0.0f);
+			alpha.setFillAfter(true);
+			alpha.setFillBefore(true);
+			alpha.setDuration(300);
+			alpha.setInterpolator(interpolator);
+
+			cancelSet.addAnimation(translate);
+			cancelSet.addAnimation(alpha);
+		}
+
+		cancelSet.setAnimationListener(new AnimationListener()
+		{
+			@Override public void onAnimationEnd(Animation animation)
+			{
+				overlay.setVisibility(View.GONE);
+				text.setText(R.string.ptr_pull);
+			}
+			@Override public void onAnimationRepeat(Animation animation){}
+			@Override public void onAnimationStart(Animation animation){}
+		});
+
+		return cancelSet;
+	}
+
+	/**
+	 * @param from
+	 * @param to
+	 * @return An animation that fades the action bar and keeps the final alpha
+	 */
+	static AlphaAnimation createActionBarFade(float from, float to)
+	{
+		AlphaAnimation fade = new AlphaAnimation(from, to);
+		fade.setFillAfter(true);
+		fade.setDuration(400);
+		fade.setInterpolator(new LinearInterpolator());
+		return fade;
+	}
+
+	/**
+	 * @param view
+	 * @return An animation that fades the view out and then hides it
+	 */
+	static AlphaAnimation createFadeOut(final View view)
+	{
+		AlphaAnimation fadeOut = new AlphaAnimation(1.0f, 0.0f);
+		fadeOut.setDuration(400);
+		fadeOut.setInterpolator(new LinearInterpolator());
+		fadeOut.setAnimationListener(new AnimationListener()
+		{
+			@Override public void onAnimationEnd(Animation animation)
+			{
+				view.setVisibility(View.GONE);
+			}
+			@Override public void onAnimationRepeat(Animation animation){}
+
+			@Override public void onAnimationStart(Animation animation){}
+		});
+
+		return fadeOut;
+	}
+
+	private static void start(View view, Animation animation)
+	{
+		animation.reset();
+		view.startAnimation(animation);
+	}
+
+	@Override public void pullIn()
+	{
+		start(abs, absFadeOut);
+		start(overlay, pullSet);
+	}
+
+	@Override public void pullOut()
+	{
+		start(abs, absFadeIn);
+		start(overlay, cancelSet);
+	}
+
+	@Override public void fadeOutIndeterminate()
+	{
+		start(indeterminate, indeterminateFadeOut);
+	}
+
+	@Override public boolean isAnimating()
+	{
+		return overlay.getAnimation() != null;
+	}
+
+	@Override public boolean isSlidingOut()
+	{
+		return overlay.getAnimation() == cancelSet;
+	}
+
+	@Override public void end()
+	{
+		if (overlay.getAnimation() == cancelSet)
+		{
+			overlay.clearAnimation();
+			overlay.setVisibility(View.GONE);
+			text.setText(R.string.ptr_pull);
+		}
+
+		if (indeterminate.getAnimation() == indeterminateFadeOut)
+		{
+			indeterminate.clearAnimation();
+			indeterminate.setVisibility(View.GONE);
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+/**
+ * Thrown from {@link RefreshHelper.OnAsyncRefreshListener#onRefresh()} when the
+ * data has not changed since the last refresh, for example on a 304 response to
+ * a request made with {@link RefreshHelper#getValidator()}. The helper skips the
+ * result and shows that the data is up to date.
+ */
+public class NotModifiedException extends Exception
+{
+	private static final long serialVersionUID = 1L;
+
+	public NotModifiedException()
+	{
+		super();
+	}
+
+	public NotModifiedException(String message)
+	{
+		super(message);
+	}
+}
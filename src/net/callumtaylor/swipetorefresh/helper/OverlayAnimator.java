@@ -0,0 +1,75 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import android.os.Build;
+import android.view.View;
+import android.widget.TextView;
+
+/**
+ * Holds the animations used by a single refresh overlay. Use
+ * {@link OverlayAnimator#create(View, TextView, View, View)} to get the
+ * best implementation for the running device.
+ */
+public abstract class OverlayAnimator
+{
+	protected final View overlay;
+	protected final TextView text;
+	protected final View abs;
+	protected final View indeterminate;
+
+	protected OverlayAnimator(View overlay, TextView text, View abs, View indeterminate)
+	{
+		this.overlay = overlay;
+		this.text = text;
+		this.abs = abs;
+		this.indeterminate = indeterminate;
+	}
+
+	/**
+	 * Creates a property animator backed implementation on API 12+ and falls back
+	 * to the legacy view animations below that
+	 * @param overlay The refresh overlay
+	 * @param text The overlay's text view
+	 * @param abs The action bar view the overlay covers
+	 * @param indeterminate The indeterminate progress bar
+	 * @return The animator for the overlay
+	 */
+	public static OverlayAnimator create(View overlay, TextView text, View abs, View indeterminate)
+	{
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1)
+		{
+			return new HardwareOverlayAnimator(overlay, text, abs, indeterminate);
+		}
+
+		return new LegacyOverlayAnimator(overlay, text, abs, indeterminate);
+	}
+
+	/**
+	 * Slides the overlay in over the action bar
+	 */
+	public abstract void pullIn();
+
+	/**
+	 * Slides the overlay back out and restores the action bar
+	 */
+	public abstract void pullOut();
+
+	/**
+	 * Fades out the indeterminate progress bar
+	 */
+	public abstract void fadeOutIndeterminate();
+
+	/**
+	 * @return true if the overlay is currently sliding in or out
+	 */
+	public abstract boolean isAnimating();
+
+	/**
+	 * @return true if the overlay is currently sliding out
+	 */
+	public abstract boolean isSlidingOut();
+
+	/**
+	 * Jumps any running animations to their end state
+	 */
+	public abstract void end();
+}
@@ -0,0 +1,61 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+
+/**
+ * Reports the interval between frames to {@link RefreshMetrics} for as long
+ * as the overlay is animating
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+class OverlayFrameTimer implements Choreographer.FrameCallback
+{
+	private final OverlayAnimator animator;
+	private RefreshMetrics metrics;
+	private long lastFrameNanos;
+	private boolean running;
+
+	public OverlayFrameTimer(OverlayAnimator animator)
+	{
+		this.animator = animator;
+	}
+
+	/**
+	 * Starts timing frames if not already doing so
+	 * @param metrics The metrics to report to
+	 */
+	public void start(RefreshMetrics metrics)
+	{
+		this.metrics = metrics;
+
+		if (!running)
+		{
+			running = true;
+			lastFrameNanos = 0;
+			Choreographer.getInstance().postFrameCallback(this);
+		}
+	}
+
+	@Override public void doFrame(long frameTimeNanos)
+	{
+		final boolean firstFrame = lastFrameNanos == 0;
+
+		if (!firstFrame)
+		{
+			metrics.onOverlayFrame(frameTimeNanos - lastFrameNanos);
+		}
+
+		lastFrameNanos = frameTimeNanos;
+
+		// Keep going after the first frame as the animation may not have started yet
+		if (firstFrame || animator.isAnimating())
+		{
+			Choreographer.getInstance().postFrameCallback(this);
+		}
+		else
+		{
+			running = false;
+		}
+	}
+}
@@ -0,0 +1,319 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+/**
+ * The pull gesture engine behind {@link RefreshDelegate}. It only works with
+ * primitive (action, y, time) samples and has no Android dependencies, so it
+ * can be driven by synthetic gestures outside of a device.
+ *
+ * The gesture moves through three states:
+ * <ul>
+ * <li>{@link State#IDLE} - not tracking the gesture</li>
+ * <li>{@link State#ARMED} - the content is at the top and the gesture is being tracked,
+ * but has not yet moved past the touch slop</li>
+ * <li>{@link State#DRAGGING} - the user is pulling and progress is being reported</li>
+ * </ul>
+ *
+ * Reaching the pull threshold marks the gesture as triggered, after which the
+ * rest of its samples are ignored until it is released.
+ */
+public class PullStateMachine
+{
+	/**
+	 * Sample actions, these match the values of the equivalent {@code MotionEvent} actions
+	 */
+	public static final int ACTION_DOWN = 0;
+	public static final int ACTION_UP = 1;
+	public static final int ACTION_MOVE = 2;
+	public static final int ACTION_CANCEL = 3;
+
+	public static enum State
+	{
+		IDLE,
+		ARMED,
+		DRAGGING
+	}
+
+	private final Host host;
+
+	private State state = State.IDLE;
+	private boolean refreshing, triggered;
+	private float touchSlop, threshold;
+	private float initialY, lastY;
+	private long pullStartTime;
+
+	public PullStateMachine(Host host)
+	{
+		this.host = host;
+	}
+
+	/**
+	 * Sets the distance the pull must move before it is treated as a drag
+	 * @param touchSlop The distance in pixels
+	 */
+	public void setTouchSlop(float touchSlop)
+	{
+		this.touchSlop = touchSlop;
+	}
+
+	/**
+	 * Sets the pull distance needed to trigger a refresh
+	 * @param threshold The distance in pixels
+	 */
+	public void setThreshold(float threshold)
+	{
+		this.threshold = threshold;
+	}
+
+	public float getThreshold()
+	{
+		return threshold;
+	}
+
+	public State getState()
+	{
+		return state;
+	}
+
+	public boolean isRefreshing()
+	{
+		return refreshing;
+	}
+
+	public void setRefreshing(boolean refreshing)
+	{
+		this.refreshing = refreshing;
+	}
+
+	/**
+	 * @return true if the pull threshold has been reached during the current gesture
+	 */
+	public boolean isTriggered()
+	{
+		return triggered;
+	}
+
+	/**
+	 * @return true if the pull has moved past the touch slop and is being dragged
+	 */
+	public boolean isDragging()
+	{
+		return state == State.DRAGGING;
+	}
+
+	/**
+	 * @return true if the current gesture is being tracked
+	 */
+	public boolean isHandlingTouch()
+	{
+		return state != State.IDLE;
+	}
+
+	/**
+	 * Feeds a single sample into the machine
+	 * @param action One of the {@code ACTION_} constants
+	 * @param y The y position of the sample in pixels
+	 * @param time The time of the sample in milliseconds
+	 * @return false if any later samples batched with this one should be ignored
+	 */
+	public boolean onTouchEvent(int action, float y, long time)
+	{
+		switch (action)
+		{
+			case ACTION_MOVE:
+			{
+				return onMove(y, time);
+			}
+
+			case ACTION_DOWN:
+			{
+				// A new gesture, so end any pull left over from one we never saw released
+				if (state == State.DRAGGING)
+				{
+					resetTouch();
+				}
+
+				state = State.IDLE;
+				break;
+			}
+
+			case ACTION_CANCEL:
+			case ACTION_UP:
+			{
+				triggered = false;
+				resetTouch();
+				break;
+			}
+		}
+
+		return true;
+	}
+
+	private boolean onMove(float y, long time)
+	{
+		if (triggered) return false;
+
+		if (refreshing)
+		{
+			if (!host.isScrolledToTop())
+			{
+				resetTouch();
+			}
+
+			return false;
+		}
+
+		// As there are times when we are not given the ACTION_DOWN, we
+		// need to check here whether we should handle the event
+		if (state == State.IDLE)
+		{
+			if (host.canRefresh() && host.canStartRefreshing())
+			{
+				state = State.ARMED;
+				initialY = y;
+			}
+			else
+			{
+				// We're still not handling the event, so fail-fast
+				return false;
+			}
+		}
+
+		// We're not currently being dragged so check to see if the user
+		// has scrolled enough
+		if (state == State.ARMED && (y - initialY) > touchSlop)
+		{
+			state = State.DRAGGING;
+			pullStartTime = time;
+			host.onPullStarted();
+		}
+
+		if (state == State.DRAGGING)
+		{
+			final float yDx = y - lastY;
+
+			/**
+			 * Check to see if the user is scrolling the right direction
+			 * (down). We allow a small scroll up which is the check
+			 * against negative touch slop.
+			 */
+			if (yDx >= -touchSlop)
+			{
+				onPull(time);
+
+				if (yDx > 0f)
+				{
+					lastY = y;
+				}
+			}
+			else
+			{
+				resetTouch();
+			}
+		}
+		else if (!host.isScrolledToTop())
+		{
+			onRefreshComplete();
+		}
+
+		return true;
+	}
+
+	private void onPull(long time)
+	{
+		final float scrollLength = lastY - initialY;
+
+		if (scrollLength < threshold && !host.shouldTriggerEarly(scrollLength, threshold))
+		{
+			host.onPullProgress(scrollLength / threshold);
+		}
+		else
+		{
+			triggered = true;
+			host.onThresholdReached(time - pullStartTime);
+		}
+	}
+
+	/**
+	 * Ends the refresh and stops tracking the current gesture without reporting the end of the pull
+	 */
+	public void onRefreshComplete()
+	{
+		refreshing = false;
+		state = State.IDLE;
+		resetTouch();
+	}
+
+	/**
+	 * Stops tracking the current gesture, reporting the end of the pull if it was being dragged
+	 */
+	public void resetTouch()
+	{
+		final State previous = state;
+
+		state = State.IDLE;
+		initialY = lastY = 0f;
+
+		if (previous == State.DRAGGING && !refreshing)
+		{
+			host.onPullEnded();
+		}
+
+		host.onResetTouch();
+	}
+
+	/**
+	 * Receives the state checks and events of the machine
+	 */
+	public static interface Host
+	{
+		/**
+		 * @return true if the content is scrolled to the top
+		 */
+		public boolean isScrolledToTop();
+
+		/**
+		 * @return true if the content is fully at the top and a pull can begin
+		 */
+		public boolean canStartRefreshing();
+
+		/**
+		 * @return true if there is anything to handle a refresh
+		 */
+		public boolean canRefresh();
+
+		/**
+		 * Called once the pull has moved past the touch slop
+		 */
+		public void onPullStarted();
+
+		/**
+		 * Called as the pull moves towards the threshold
+		 * @param percentage The pull distance as a fraction of the threshold
+		 */
+		public void onPullProgress(float percentage);
+
+		/**
+		 * Allows the pull to trigger before it reaches the threshold
+		 * @param scrollLength The current pull distance in pixels
+		 * @param threshold The threshold in pixels
+		 * @return true to trigger now
+		 */
+		public boolean shouldTriggerEarly(float scrollLength, float threshold);
+
+		/**
+		 * Called when the pull reaches the threshold
+		 * @param pullDuration The time in milliseconds since the pull started
+		 */
+		public void onThresholdReached(long pullDuration);
+
+		/**
+		 * Called when a pull is released or abandoned without refreshing
+		 */
+		public void onPullEnded();
+
+		/**
+		 * Called whenever the machine stops tracking a gesture
+		 */
+		public void onResetTouch();
+	}
+}
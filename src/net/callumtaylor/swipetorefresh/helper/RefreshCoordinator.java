@@ -0,0 +1,189 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.callumtaylor.pulltorefresh.R;
+import net.callumtaylor.swipetorefresh.view.RefreshProgressView;
+import android.app.Activity;
+import android.content.Context;
+import android.os.Build;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+/**
+ * Owns the overlay and progress bar added to an activity's action bar. Every
+ * {@link RefreshHelper} wrapped in the same activity shares one coordinator,
+ * so the overlay is only inflated once however many fragments are wrapped.
+ *
+ * The overlay is not inflated until it is first needed, which is normally the
+ * first pull, so wrapping adds no inflation or action bar layout at startup.
+ *
+ * Only the active helper drives the overlay. A helper becomes active when the
+ * user pulls its view, when it starts refreshing, or when
+ * {@link RefreshHelper#showHelper()} is called.
+ *
+ * On API 14+ the coordinator follows its activity's lifecycle and destroys
+ * every helper still using it when the activity is destroyed.
+ */
+class RefreshCoordinator
+{
+	private final Context context;
+	private final ViewGroup abRoot;
+
+	View overlay;
+	TextView text;
+	RefreshProgressView progressBar, indeterminateProgressBar;
+	View actionBar;
+	OverlayAnimator animator;
+
+	private RefreshHelper activeHelper;
+	private final Map<RefreshHelper, Boolean> helpers = new WeakHashMap<RefreshHelper, Boolean>();
+
+	private RefreshCoordinator(Context context, ViewGroup abRoot)
+	{
+		this.context = context;
+		this.abRoot = abRoot;
+	}
+
+	boolean isInflated()
+	{
+		return overlay != null;
+	}
+
+	/**
+	 * Inflates the overlay and progress bar into the action bar container if
+	 * they have not been already
+	 */
+	void inflate()
+	{
+		if (overlay != null)
+		{
+			return;
+		}
+
+		overlay = LayoutInflater.from(context).inflate(R.layout.abs_overlay, abRoot, false);
+		abRoot.addView(overlay);
+
+		View progressOverlay = LayoutInflater.from(context).inflate(R.layout.abs_overlay_progress, abRoot, false);
+		abRoot.addView(progressOverlay);
+
+		indeterminateProgressBar = (RefreshProgressView)progressOverlay;
+		progressBar = (RefreshProgressView)overlay.findViewById(R.id.refresh_progress);
+		text = (TextView)overlay.findViewById(R.id.refresh_text);
+		actionBar = abRoot.getChildAt(0);
+		animator = OverlayAnimator.create(overlay, text, actionBar, progressOverlay);
+
+		progressBar.setMax(0);
+		progressBar.setMax(100);
+		progressBar.setProgress(0);
+	}
+
+	/**
+	 * Gets the coordinator for the action bar container, creating it the first time
+	 * @param ctx
+	 * @param abRoot The action bar container
+	 * @return The coordinator
+	 */
+	static RefreshCoordinator obtain(Context ctx, ViewGroup abRoot)
+	{
+		RefreshCoordinator coordinator = (RefreshCoordinator)abRoot.getTag(R.id.ptr_coordinator);
+
+		if (coordinator == null)
+		{
+			coordinator = new RefreshCoordinator(ctx, abRoot);
+			abRoot.setTag(R.id.ptr_coordinator, coordinator);
+
+			if (ctx instanceof Activity && Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+			{
+				ActivityLifecycleBinder.bind((Activity)ctx, coordinator);
+			}
+		}
+
+		return coordinator;
+	}
+
+	/**
+	 * Forgets the coordinator for the action bar container, called when its overlay is removed
+	 * @param abRoot
+	 */
+	static void release(ViewGroup abRoot)
+	{
+		abRoot.setTag(R.id.ptr_coordinator, null);
+	}
+
+	void addHelper(RefreshHelper helper)
+	{
+		helpers.put(helper, Boolean.TRUE);
+
+		if (activeHelper == null)
+		{
+			activeHelper = helper;
+		}
+	}
+
+	void removeHelper(RefreshHelper helper)
+	{
+		helpers.remove(helper);
+
+		if (activeHelper == helper)
+		{
+			activeHelper = null;
+		}
+	}
+
+	/**
+	 * Destroys every helper still using the coordinator, called when its activity is destroyed
+	 */
+	void destroy()
+	{
+		for (RefreshHelper helper : new ArrayList<RefreshHelper>(helpers.keySet()))
+		{
+			helper.destroy();
+		}
+
+		helpers.clear();
+	}
+
+	boolean isActive(RefreshHelper helper)
+	{
+		return activeHelper == helper;
+	}
+
+	/**
+	 * Makes the helper the one shown in the overlay, showing the indeterminate
+	 * progress only if that helper is refreshing. If the previous helper had the
+	 * overlay in, it is slid out, as that helper can no longer reset it.
+	 * @param helper
+	 */
+	void setActiveHelper(RefreshHelper helper)
+	{
+		if (activeHelper == helper)
+		{
+			return;
+		}
+
+		RefreshHelper previous = activeHelper;
+		activeHelper = helper;
+
+		if (isInflated())
+		{
+			if (previous != null)
+			{
+				previous.onOverlayReleased();
+			}
+
+			if (overlay.getVisibility() == View.VISIBLE && !animator.isSlidingOut())
+			{
+				animator.pullOut();
+				progressBar.setVisibility(View.GONE);
+				progressBar.setProgress(0);
+			}
+
+			indeterminateProgressBar.setVisibility(helper.isRefreshing() ? View.VISIBLE : View.GONE);
+		}
+	}
+}
@@ -4,44 +4,200 @@ import net.callumtaylor.swipetorefresh.view.OnOverScrollListener;
 import net.callumtaylor.swipetorefresh.view.RefreshableListView;
 import net.callumtaylor.swipetorefresh.view.RefreshableScrollView;
 import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.SystemClock;
 import android.util.DisplayMetrics;
-import android.view.Display;
 import android.view.MotionEvent;
 import android.view.View;
-import android.view.ViewConfiguration;
-import android.view.WindowManager;
+import android.view.VelocityTracker;
 
 /**
  * This is the refresh delegate responsible for handling the touch events
  * from the {@link RefreshableListView} and {@link RefreshableScrollView}
- * classes.
+ * classes. The gesture itself is tracked by a {@link PullStateMachine}, this
+ * class feeds it the touch samples and turns its events into listener calls.
  *
- * Some code in {@link RefreshDelegate#onTouch(View, MotionEvent)} has been
+ * Some code in {@link PullStateMachine} has been
  * used from <a href="https://github.com/chrisbanes/ActionBar-PullToRefresh">Chris Banes' Library</a>
  */
 public class RefreshDelegate
 {
-	private final DisplayMetrics mDM;
+	private DisplayMetrics mDM;
 	private Context mContext;
 
 	private ScrollDelegate scrollDelegate;
 	private OnOverScrollListener onOverScrollListener;
 
-	private int refreshCount = 0;
-	private int mTouchSlop;
-	private float mInitialMotionY, mLastMotionY;
-	private boolean mIsBeingDragged, mIsRefreshing, mIsHandlingTouchEvent;
+	private float mFlingRefreshVelocity;
+	private VelocityTracker mVelocityTracker;
+	private float mPendingPercentage;
+	private int mCoalescedEventCount;
+	private int mOffTopRefreshCount;
+	private final FrameScheduler mProgressScheduler = FrameScheduler.create(new Runnable()
+	{
+		@Override public void run()
+		{
+			if (mMachine.isDragging() && onOverScrollListener != null)
+			{
+				onOverScrollListener.onRefreshScrolledPercentage(mPendingPercentage);
+			}
+		}
+	});
+
+	private final PullStateMachine mMachine = new PullStateMachine(new PullStateMachine.Host()
+	{
+		@Override public boolean isScrolledToTop()
+		{
+			return scrollDelegate.isScrolledToTop();
+		}
+
+		@Override public boolean canStartRefreshing()
+		{
+			return scrollDelegate.canStartRefreshing();
+		}
+
+		@Override public boolean canRefresh()
+		{
+			return onOverScrollListener != null;
+		}
+
+		@Override public void onPullStarted()
+		{
+			if (onOverScrollListener != null)
+			{
+				onOverScrollListener.onBeginRefresh();
+			}
+		}
+
+		@Override public void onPullProgress(float percentage)
+		{
+			// Only the latest percentage is sent, once per frame
+			if (mProgressScheduler.isScheduled())
+			{
+				mCoalescedEventCount++;
+			}
+
+			mPendingPercentage = percentage;
+			mProgressScheduler.schedule();
+		}
+
+		@Override public boolean shouldTriggerEarly(float scrollLength, float threshold)
+		{
+			return isFlingRefresh(scrollLength, threshold);
+		}
+
+		@Override public void onThresholdReached(long pullDuration)
+		{
+			mProgressScheduler.cancel();
+
+			if (scrollDelegate != null && !scrollDelegate.isScrolledToTop())
+			{
+				mOffTopRefreshCount++;
+			}
+
+			if (mMetrics != null)
+			{
+				mMetrics.onPullThresholdReached(pullDuration);
+			}
+
+			refresh();
+		}
+
+		@Override public void onPullEnded()
+		{
+			if (mMetrics != null)
+			{
+				mMetrics.onPullReset();
+			}
+
+			if (onOverScrollListener != null)
+			{
+				onOverScrollListener.onReset();
+			}
+		}
+
+		@Override public void onResetTouch()
+		{
+			mProgressScheduler.cancel();
+
+			if (mVelocityTracker != null)
+			{
+				mVelocityTracker.recycle();
+				mVelocityTracker = null;
+			}
+
+			if (scrollDelegate != null)
+			{
+				scrollDelegate.onResetTouch();
+			}
+		}
+	});
+
+	private final Handler mHandler = new Handler();
+	private long mCoalesceWindow, mMinRefreshInterval, mLastRefreshTime;
+	private int mMergedRefreshCount, mDroppedRefreshCount;
+	private boolean mIsRefreshPending;
+
+	private RefreshMetrics mMetrics;
+	private final Runnable mPendingRefresh = new Runnable()
+	{
+		@Override public void run()
+		{
+			mIsRefreshPending = false;
+			refresh();
+		}
+	};
 
 	public RefreshDelegate(Context context, ScrollDelegate scrollDelegate)
 	{
 		this.scrollDelegate = scrollDelegate;
 		mContext = context;
-		mTouchSlop = ViewConfiguration.get(mContext).getScaledTouchSlop();
+		updateDisplayMetrics();
+	}
+
+	/**
+	 * Call this when the configuration of the owning view changes so the
+	 * pull threshold can be recalculated for the new display size
+	 * @param newConfig
+	 */
+	public void onConfigurationChanged(Configuration newConfig)
+	{
+		DisplayCache.onConfigurationChanged(newConfig);
+		updateDisplayMetrics();
+	}
+
+	/**
+	 * Recalculates the pull threshold and touch slop if the configuration has changed since
+	 * they were loaded. For owners that are not told about configuration changes, such as a
+	 * wrapped view, call this at the start of each gesture.
+	 */
+	public void checkDisplayMetrics()
+	{
+		// The cache hands out a new metrics instance whenever the configuration changes
+		if (DisplayCache.getMetrics(mContext) != mDM)
+		{
+			updateDisplayMetrics();
+		}
+	}
+
+	private void updateDisplayMetrics()
+	{
+		final float density = mDM != null ? mDM.density : 0f;
 
-		mDM = new DisplayMetrics();
-		WindowManager window = (WindowManager)context.getSystemService(Context.WINDOW_SERVICE);
-		Display display = window.getDefaultDisplay();
-		display.getMetrics(mDM);
+		mDM = DisplayCache.getMetrics(mContext);
+		mMachine.setTouchSlop(DisplayCache.getTouchSlop(mContext));
+		updateRefreshThreshold();
+
+		if (density != 0f && density != mDM.density)
+		{
+			mFlingRefreshVelocity = mFlingRefreshVelocity / density * mDM.density;
+		}
+	}
+
+	private void updateRefreshThreshold()
+	{
+		mMachine.setThreshold(Math.min(mDM.heightPixels / 3f, densityPixel(300)));
 	}
 
 	public void setScrollDeletage(ScrollDelegate delegate)
@@ -54,42 +210,53 @@ public class RefreshDelegate
 		this.onOverScrollListener = l;
 	}
 
-	private boolean canRefresh(boolean fromTouch)
+	/**
+	 * Sets the downward velocity at which a pull will trigger the refresh before
+	 * reaching the full pull distance. The pull must still cover a third of the
+	 * distance so small flicks do not refresh. Set to 0 to disable, which is the default.
+	 * @param dpPerSecond The velocity in dp per second
+	 */
+	public void setFlingRefreshVelocity(int dpPerSecond)
 	{
-		return !mIsRefreshing && (!fromTouch || onOverScrollListener != null);
+		mFlingRefreshVelocity = densityPixel(dpPerSecond);
 	}
 
-	private void onPull()
+	private boolean isFlingRefresh(float scrollLength, float threshold)
 	{
-		final float pxScrollForRefresh = Math.min(mDM.heightPixels / 3f, densityPixel(300));
-		final float scrollLength = mLastMotionY - mInitialMotionY;
-
-		if (scrollLength < pxScrollForRefresh)
-		{
-			onOverScrollListener.onRefreshScrolledPercentage(scrollLength / pxScrollForRefresh);
-		}
-		else
+		if (mVelocityTracker == null || scrollLength < threshold / 3f)
 		{
-			refreshCount++;
-			refresh();
+			return false;
 		}
+
+		mVelocityTracker.computeCurrentVelocity(1000);
+		return mVelocityTracker.getYVelocity() >= mFlingRefreshVelocity;
 	}
 
-	private void onPullEnded()
+	/**
+	 * @return The number of pull samples whose progress update was merged into a later one
+	 * because they arrived within the same frame
+	 */
+	public int getCoalescedEventCount()
 	{
-		if (!mIsRefreshing)
-		{
-			onOverScrollListener.onReset();
-			//onRefreshComplete();
-		}
+		return mCoalescedEventCount;
 	}
 
-	private void onPullStarted()
+	/**
+	 * @return The number of pulls that reached the refresh threshold while the view was
+	 * not scrolled right to the top
+	 */
+	public int getOffTopRefreshCount()
 	{
-		if (onOverScrollListener != null)
-		{
-			onOverScrollListener.onBeginRefresh();
-		}
+		return mOffTopRefreshCount;
+	}
+
+	/**
+	 * @return true if the delegate is tracking the current gesture and needs to see
+	 * every move event
+	 */
+	public boolean isHandlingTouch()
+	{
+		return mMachine.isHandlingTouch();
 	}
 
 	/**
@@ -97,122 +264,53 @@ public class RefreshDelegate
 	 */
 	public void onRefreshComplete()
 	{
-		if (onOverScrollListener != null)
+		mMachine.onRefreshComplete();
+	}
+
+	public boolean onTouch(View view, MotionEvent event)
+	{
+		if (mMetrics == null)
 		{
-			//onOverScrollListener.onReset();
+			return handleTouch(event);
 		}
 
-		mIsRefreshing = false;
-		mIsBeingDragged = false;
-		resetTouch();
+		final long start = System.nanoTime();
+		final boolean handled = handleTouch(event);
+		mMetrics.onTouchHandled(event.getAction(), System.nanoTime() - start);
+		return handled;
 	}
 
-	public boolean onTouch(View view, MotionEvent event)
+	private boolean handleTouch(MotionEvent event)
 	{
 		if (event.getAction() == MotionEvent.ACTION_DOWN && event.getEdgeFlags() != 0)
 		{
 			return false;
 		}
 
-		switch (event.getAction())
+		if (event.getAction() == MotionEvent.ACTION_MOVE)
 		{
-			case MotionEvent.ACTION_MOVE:
+			if (mFlingRefreshVelocity > 0 && mMachine.isHandlingTouch())
 			{
-				if (refreshCount > 0) return false;
-
-				if (mIsRefreshing)
-				{
-					if (!scrollDelegate.isScrolledToTop())
-					{
-						resetTouch();
-					}
-
-					return false;
-				}
-
-				final float y = event.getY();
-
-				// As there are times when we are not given the ACTION_DOWN, we
-				// need to check here
-				// whether we should handle the event
-				if (!mIsHandlingTouchEvent)
-				{
-					if (canRefresh(true) && scrollDelegate.canStartRefreshing())
-					{
-						mIsHandlingTouchEvent = true;
-						mInitialMotionY = y;
-					}
-					else
-					{
-						// We're still not handling the event, so fail-fast
-						return false;
-					}
-				}
-
-				// We're not currently being dragged so check to see if the user
-				// has scrolled enough
-				if (!mIsBeingDragged && (y - mInitialMotionY) > mTouchSlop)
+				if (mVelocityTracker == null)
 				{
-					mIsBeingDragged = true;
-					onPullStarted();
+					mVelocityTracker = VelocityTracker.obtain();
 				}
 
-				if (mIsBeingDragged)
-				{
-					final float yDx = y - mLastMotionY;
-
-					/**
-					 * Check to see if the user is scrolling the right direction
-					 * (down). We allow a small scroll up which is the check
-					 * against negative touch slop.
-					 */
-					if (yDx >= -mTouchSlop)
-					{
-						onPull();
-
-						if (yDx > 0f)
-						{
-							mLastMotionY = y;
-						}
-					}
-					else
-					{
-						resetTouch();
-					}
-				}
-				else if (!scrollDelegate.isScrolledToTop())
-				{
-					onRefreshComplete();
-				}
-
-				break;
+				mVelocityTracker.addMovement(event);
 			}
 
-			case MotionEvent.ACTION_DOWN:
+			// Run through any samples batched into this event before the current one
+			final int historySize = event.getHistorySize();
+			for (int index = 0; index < historySize; index++)
 			{
-				// If we're already refreshing, ignore
-				if (canRefresh(true) && scrollDelegate.isScrolledToTop())
+				if (!mMachine.onTouchEvent(PullStateMachine.ACTION_MOVE, event.getHistoricalY(index), event.getHistoricalEventTime(index)))
 				{
-					mIsHandlingTouchEvent = false;
-					mInitialMotionY = event.getY();
-				}
-				else
-				{
-					mIsHandlingTouchEvent = false;
+					return false;
 				}
-
-				break;
-			}
-
-			case MotionEvent.ACTION_CANCEL:
-			case MotionEvent.ACTION_UP:
-			{
-				refreshCount = 0;
-				resetTouch();
-				break;
 			}
 		}
 
+		mMachine.onTouchEvent(event.getAction(), event.getY(), event.getEventTime());
 		return false;
 	}
 
@@ -220,7 +318,7 @@ public class RefreshDelegate
 	{
 		if (onOverScrollListener != null)
 		{
-			mIsRefreshing = true;
+			mMachine.setRefreshing(true);
 		}
 		else
 		{
@@ -232,7 +330,32 @@ public class RefreshDelegate
 	{
 		if (onOverScrollListener != null)
 		{
-			mIsRefreshing = true;
+			if (mCoalesceWindow > 0 && mMachine.isRefreshing())
+			{
+				mMergedRefreshCount++;
+				onRefreshSuppressed();
+				return;
+			}
+
+			// A direct refresh replaces a programmatic one waiting in the window
+			if (mIsRefreshPending)
+			{
+				mHandler.removeCallbacks(mPendingRefresh);
+				mIsRefreshPending = false;
+				mMergedRefreshCount++;
+				onRefreshSuppressed();
+			}
+
+			final long now = SystemClock.uptimeMillis();
+			if (mMinRefreshInterval > 0 && mLastRefreshTime != 0 && now - mLastRefreshTime < mMinRefreshInterval)
+			{
+				mDroppedRefreshCount++;
+				onRefreshSuppressed();
+				return;
+			}
+
+			mLastRefreshTime = now;
+			mMachine.setRefreshing(true);
 			onOverScrollListener.onRefresh();
 		}
 		else
@@ -243,28 +366,84 @@ public class RefreshDelegate
 
 	public void resetTouch()
 	{
-		if (mIsBeingDragged)
+		mMachine.resetTouch();
+	}
+
+	/**
+	 * Starts a refresh intent. If a coalesce window is set the refresh is delayed by
+	 * that window, and any other refreshes started in the meantime are merged into it.
+	 */
+	public void startRefresh()
+	{
+		if (mCoalesceWindow <= 0)
+		{
+			refresh();
+		}
+		else if (mIsRefreshPending || mMachine.isRefreshing())
+		{
+			mMergedRefreshCount++;
+			onRefreshSuppressed();
+		}
+		else
 		{
-			// We were being dragged, but not any more.
-			mIsBeingDragged = false;
-			onPullEnded();
+			mIsRefreshPending = true;
+			mHandler.postDelayed(mPendingRefresh, mCoalesceWindow);
 		}
+	}
+
+	/**
+	 * Sets the window in which refresh triggers are merged into a single call to
+	 * {@link OnOverScrollListener#onRefresh()}. While a refresh is pending or running,
+	 * further triggers are counted as merged rather than refreshing again. 0 disables
+	 * coalescing, which is the default.
+	 * @param windowMillis
+	 */
+	public void setRefreshCoalesceWindow(long windowMillis)
+	{
+		mCoalesceWindow = windowMillis;
+	}
+
+	/**
+	 * Sets the minimum time between two refreshes. Triggers arriving sooner than
+	 * this after the last refresh are dropped. 0 disables the limit, which is the default.
+	 * @param intervalMillis
+	 */
+	public void setMinRefreshInterval(long intervalMillis)
+	{
+		mMinRefreshInterval = intervalMillis;
+	}
 
-		mIsHandlingTouchEvent = false;
-		mInitialMotionY = mLastMotionY = 0f;
+	/**
+	 * Sets the metrics to report gesture timings to, or null to stop reporting
+	 * @param metrics
+	 */
+	public void setRefreshMetrics(RefreshMetrics metrics)
+	{
+		mMetrics = metrics;
+	}
 
-		if (scrollDelegate != null)
+	private void onRefreshSuppressed()
+	{
+		if (mMetrics != null)
 		{
-			scrollDelegate.onResetTouch();
+			mMetrics.onRefreshSuppressed();
 		}
 	}
 
 	/**
-	 * Starts a refresh intent
+	 * @return The number of refresh triggers merged into another refresh
 	 */
-	public void startRefresh()
+	public int getMergedRefreshCount()
+	{
+		return mMergedRefreshCount;
+	}
+
+	/**
+	 * @return The number of refresh triggers dropped by the minimum refresh interval
+	 */
+	public int getDroppedRefreshCount()
 	{
-		refresh();
+		return mDroppedRefreshCount;
 	}
 
 	public int densityPixel(int dp)
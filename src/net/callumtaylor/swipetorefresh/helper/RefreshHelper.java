@@ -1,65 +1,366 @@
 package net.callumtaylor.swipetorefresh.helper;
 
+import android.annotation.TargetApi;
 import android.app.Activity;
 import android.app.Fragment;
-import android.view.LayoutInflater;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.Window;
 import android.view.animation.AccelerateInterpolator;
-import android.widget.ProgressBar;
+import android.widget.AbsListView;
 import android.widget.TextView;
 
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
 import net.callumtaylor.pulltorefresh.R;
 import net.callumtaylor.swipetorefresh.view.OnOverScrollListener;
+import net.callumtaylor.swipetorefresh.view.RefreshProgressView;
 import net.callumtaylor.swipetorefresh.view.RefreshableListView;
 import net.callumtaylor.swipetorefresh.view.RefreshableScrollView;
+import net.callumtaylor.swipetorefresh.view.RefreshableViewWrapper;
 
 /**
  * This is the refresh helper class which you could call to
  * wrap your refreshable views and activity to.
  *
- * You can call {@link RefreshHelper#showHelper()} to show the indeterminate progress
- * or {@link RefreshHelper#hideHelper()} to hide. This is useful when having more than one
- * refreshable list fragments in a view pager, call show/hide on the
- * relevant fragment when switching page to prevent multiple refreshables
- * from showing.
+ * All helpers wrapped in the same activity share a single overlay in the action bar.
+ * A helper takes over the overlay when its view is pulled or it starts refreshing. You
+ * can call {@link RefreshHelper#showHelper()} to make a helper the active one and show its
+ * indeterminate progress, or {@link RefreshHelper#hideHelper()} to hide it. This is useful
+ * when having more than one refreshable list fragments in a view pager, call show on the
+ * relevant fragment when switching page.
+ *
+ * The helper only holds its refreshable views weakly. On API 14+ it is destroyed along
+ * with its activity, below that call {@link RefreshHelper#destroy()} from {@code onDestroy()}.
  */
 public class RefreshHelper implements OnOverScrollListener
 {
-	private final View ptrOverlay;
+	private static final Map<Window, WeakReference<ViewGroup>> actionBarCache = new WeakHashMap<Window, WeakReference<ViewGroup>>();
+	private static int actionBarContainerId = -1;
+	private static int[] searchIndices = new int[16];
+	private static Executor defaultExecutor;
+
+	private View ptrOverlay;
+	private TextView ptrText;
 
-	private final ProgressBar ptrProgressBar, ptrIndeterminateProgressBar;
+	private RefreshProgressView ptrProgressBar, ptrIndeterminateProgressBar;
 	private final AccelerateInterpolator accelerationInterpolator;
-	private final View abRoot;
+	private OverlayAnimator overlayAnimator;
+	private RefreshCoordinator coordinator;
 	private OnRefreshListener refreshListener;
+	private OnStreamingRefreshListener streamingRefreshListener;
+	private OnAsyncRefreshListener<?> asyncRefreshListener;
+	private Executor refreshExecutor;
+	private long refreshTimeout = 30000;
+	private RefreshTask<?> refreshTask, prewarmTask;
+	private OnPrewarmListener prewarmListener;
+	private float prewarmFraction;
+	private boolean prewarmed;
+	private final Handler handler = new Handler(Looper.getMainLooper());
+	private RefreshMetrics metrics;
+	private OverlayFrameTimer frameTimer;
+	private long refreshStartTime;
+	private long freshnessTtl, lastRefreshSuccess;
+	private volatile String validator;
+	private volatile RefreshProgress refreshProgress;
+	private final FrameScheduler progressScheduler = FrameScheduler.create(new Runnable()
+	{
+		@Override public void run()
+		{
+			RefreshProgress progress = refreshProgress;
 
-	private RefreshableListView listView;
-	private RefreshableScrollView scrollView;
+			// A pre-warmed task may report progress before the bar is shown, it is drawn once adopted
+			if (progress != null && refreshing && ptrOverlay != null && coordinator.isActive(RefreshHelper.this))
+			{
+				progress.applyTo(ptrIndeterminateProgressBar);
+			}
+		}
+	});
+	private final Runnable scheduleProgress = new Runnable()
+	{
+		@Override public void run()
+		{
+			progressScheduler.schedule();
+		}
+	};
+
+	private WeakReference<RefreshableListView> listViewRef;
+	private WeakReference<RefreshableScrollView> scrollViewRef;
+	private WeakReference<RefreshableViewWrapper> viewWrapperRef;
+	private Object detachListener;
+	private boolean destroyed;
 
 	private boolean refreshing = false;
 	private Runnable reset = new Runnable()
 	{
 		@Override public void run()
 		{
-			if (ptrOverlay.getAnimation() == null)
+			if (coordinator.isActive(RefreshHelper.this) && !overlayAnimator.isAnimating())
 			{
 				resetOverlay();
 			}
 		}
 	};
+	private Runnable resetText = new Runnable()
+	{
+		@Override public void run()
+		{
+			ptrText.setText(R.string.ptr_pull);
+		}
+	};
+	private Runnable timeout = new Runnable()
+	{
+		@Override public void run()
+		{
+			RefreshTask<?> task = refreshTask;
+
+			if (task != null)
+			{
+				cancelRefresh();
+
+				try
+				{
+					task.getListener().onRefreshFailed(new TimeoutException());
+				}
+				finally
+				{
+					finish();
+				}
+			}
+		}
+	};
 
-	private RefreshHelper(View overlay, View progressOverlay, View root)
+	private RefreshHelper(RefreshCoordinator coordinator)
 	{
-		this.ptrOverlay = overlay;
-		this.ptrIndeterminateProgressBar = (ProgressBar)progressOverlay;
+		this.coordinator = coordinator;
 		this.accelerationInterpolator = new AccelerateInterpolator();
-		this.ptrProgressBar = (ProgressBar)overlay.findViewById(R.id.refresh_progress);
-		this.abRoot = root;
 
-		ptrProgressBar.setMax(0);
-		ptrProgressBar.setMax(100);
-		ptrProgressBar.setProgress(0);
+		coordinator.addHelper(this);
+	}
+
+	/**
+	 * Inflates the shared overlay if needed and binds this helper to its views. This is
+	 * deferred until the overlay is first shown so wrapping does no inflation.
+	 */
+	private void bindOverlay()
+	{
+		if (ptrOverlay != null)
+		{
+			return;
+		}
+
+		coordinator.inflate();
+		this.ptrOverlay = coordinator.overlay;
+		this.ptrIndeterminateProgressBar = coordinator.indeterminateProgressBar;
+		this.ptrProgressBar = coordinator.progressBar;
+		this.ptrText = coordinator.text;
+		this.overlayAnimator = coordinator.animator;
+	}
+
+	/**
+	 * Finishes any refresh when the wrapped view is detached, such as when its fragment's
+	 * view is destroyed, so no result is delivered into a dead view. Does nothing below API 12.
+	 * @param view The wrapped view
+	 */
+	private void finishOnDetach(View view)
+	{
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB_MR1)
+		{
+			addDetachListener(view);
+		}
+	}
+
+	@TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
+	private void addDetachListener(View view)
+	{
+		if (detachListener == null)
+		{
+			detachListener = new View.OnAttachStateChangeListener()
+			{
+				@Override public void onViewAttachedToWindow(View v){}
+
+				@Override public void onViewDetachedFromWindow(View v)
+				{
+					if (refreshing)
+					{
+						finish();
+					}
+					else
+					{
+						cancelRefresh();
+					}
+				}
+			};
+		}
+
+		View.OnAttachStateChangeListener listener = (View.OnAttachStateChangeListener)detachListener;
+		view.removeOnAttachStateChangeListener(listener);
+		view.addOnAttachStateChangeListener(listener);
+	}
+
+	@TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
+	private void removeDetachListener(View view)
+	{
+		view.removeOnAttachStateChangeListener((View.OnAttachStateChangeListener)detachListener);
+	}
+
+	private RefreshableListView getListView()
+	{
+		return listViewRef == null ? null : listViewRef.get();
+	}
+
+	private RefreshableScrollView getScrollView()
+	{
+		return scrollViewRef == null ? null : scrollViewRef.get();
+	}
+
+	private RefreshableViewWrapper getViewWrapper()
+	{
+		return viewWrapperRef == null ? null : viewWrapperRef.get();
+	}
+
+	/**
+	 * Enables or disables pulling on the wrapped views
+	 * @param canRefresh
+	 */
+	private void setViewsCanRefresh(boolean canRefresh)
+	{
+		RefreshableScrollView scrollView = getScrollView();
+		if (scrollView != null)
+		{
+			scrollView.setCanRefresh(canRefresh);
+		}
+
+		RefreshableListView listView = getListView();
+		if (listView != null)
+		{
+			listView.setCanRefresh(canRefresh);
+		}
+
+		RefreshableViewWrapper viewWrapper = getViewWrapper();
+		if (viewWrapper != null)
+		{
+			viewWrapper.setCanRefresh(canRefresh);
+		}
+	}
+
+	/**
+	 * Tells the wrapped views their refresh has finished
+	 */
+	private void completeViews()
+	{
+		RefreshableScrollView scrollView = getScrollView();
+		if (scrollView != null)
+		{
+			scrollView.onRefreshComplete();
+		}
+
+		RefreshableListView listView = getListView();
+		if (listView != null)
+		{
+			listView.onRefreshComplete();
+		}
+
+		RefreshableViewWrapper viewWrapper = getViewWrapper();
+		if (viewWrapper != null)
+		{
+			viewWrapper.onRefreshComplete();
+		}
+	}
+
+	/**
+	 * Releases the helper. Any running refresh is cancelled along with every pending
+	 * callback and overlay animation, and the helper lets go of the wrapped views and the
+	 * overlay. This is called when the activity is destroyed on API 14+, below that call it
+	 * from {@code onDestroy()}. You can also call it when a fragment's view is destroyed.
+	 * The helper does nothing once destroyed.
+	 */
+	public void destroy()
+	{
+		if (destroyed)
+		{
+			return;
+		}
+
+		destroyed = true;
+		cancelRefresh();
+		finishProgress();
+
+		if (ptrOverlay != null)
+		{
+			ptrOverlay.removeCallbacks(reset);
+			ptrOverlay.removeCallbacks(resetText);
+
+			if (coordinator.isActive(this))
+			{
+				overlayAnimator.end();
+			}
+		}
+
+		RefreshableScrollView scrollView = getScrollView();
+		if (scrollView != null)
+		{
+			scrollView.setOnOverScrollListener(null);
+
+			if (detachListener != null)
+			{
+				removeDetachListener(scrollView);
+			}
+		}
+
+		RefreshableListView listView = getListView();
+		if (listView != null)
+		{
+			listView.setOnOverScrollListener(null);
+
+			if (detachListener != null)
+			{
+				removeDetachListener(listView);
+			}
+		}
+
+		RefreshableViewWrapper viewWrapper = getViewWrapper();
+		if (viewWrapper != null)
+		{
+			viewWrapper.setOnOverScrollListener(null);
+
+			if (detachListener != null)
+			{
+				removeDetachListener(viewWrapper.getView());
+			}
+		}
+
+		detachListener = null;
+
+		coordinator.removeHelper(this);
+		coordinator = null;
+		listViewRef = null;
+		scrollViewRef = null;
+		viewWrapperRef = null;
+		ptrOverlay = null;
+		ptrText = null;
+		ptrProgressBar = ptrIndeterminateProgressBar = null;
+		overlayAnimator = null;
+		frameTimer = null;
+		refreshListener = null;
+		streamingRefreshListener = null;
+		asyncRefreshListener = null;
+		prewarmListener = null;
+	}
+
+	public boolean isDestroyed()
+	{
+		return destroyed;
 	}
 
 	public void setRefreshing(boolean refreshing)
@@ -69,76 +370,457 @@ public class RefreshHelper implements OnOverScrollListener
 
 	public boolean isRefreshing()
 	{
-		return refreshing;
+		return refreshing;
+	}
+
+	public void hideHelper()
+	{
+		if (!destroyed && isRefreshing() && ptrOverlay != null && coordinator.isActive(this))
+		{
+			ptrIndeterminateProgressBar.setVisibility(View.GONE);
+		}
+	}
+
+	public void showHelper()
+	{
+		if (destroyed)
+		{
+			return;
+		}
+
+		coordinator.setActiveHelper(this);
+
+		if (isRefreshing())
+		{
+			bindOverlay();
+			ptrIndeterminateProgressBar.setIndeterminate(true);
+			ptrIndeterminateProgressBar.setVisibility(View.VISIBLE);
+
+			if (refreshProgress != null)
+			{
+				progressScheduler.schedule();
+			}
+		}
+	}
+
+	/**
+	 * Called by the coordinator when another helper takes over the overlay. Drops this
+	 * helper's pending overlay resets so they do not land on the other helper's overlay.
+	 */
+	void onOverlayReleased()
+	{
+		if (ptrOverlay != null)
+		{
+			ptrOverlay.removeCallbacks(reset);
+			ptrOverlay.removeCallbacks(resetText);
+		}
+	}
+
+	@Override public void onBeginRefresh()
+	{
+		if (destroyed)
+		{
+			return;
+		}
+
+		bindOverlay();
+		coordinator.setActiveHelper(this);
+		updateProgress(1.0f);
+		overlayAnimator.pullIn();
+		timeOverlayFrames();
+	}
+
+	private void timeOverlayFrames()
+	{
+		if (metrics != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+		{
+			if (frameTimer == null)
+			{
+				frameTimer = new OverlayFrameTimer(overlayAnimator);
+			}
+
+			frameTimer.start(metrics);
+		}
+	}
+
+	/**
+	 * Starts a refresh, even if the data is still fresh
+	 */
+	public void refresh()
+	{
+		if (!destroyed)
+		{
+			startRefresh();
+		}
+	}
+
+	/**
+	 * Called when the view is pulled past the threshold. While the data is still fresh
+	 * the listener is not called and the overlay shows that it is up to date instead.
+	 */
+	@Override public void onRefresh()
+	{
+		if (destroyed)
+		{
+			return;
+		}
+
+		if (isFresh())
+		{
+			showUpToDate();
+			return;
+		}
+
+		startRefresh();
+	}
+
+	private void showUpToDate()
+	{
+		cancelPrewarm();
+		bindOverlay();
+		coordinator.setActiveHelper(this);
+		ptrProgressBar.setVisibility(View.GONE);
+		ptrText.setText(R.string.ptr_up_to_date);
+		ptrOverlay.removeCallbacks(resetText);
+		completeViews();
+
+		// The overlay is already in when pulled, but may have slid out during a refresh
+		if (ptrOverlay.getVisibility() != View.VISIBLE || overlayAnimator.isSlidingOut())
+		{
+			overlayAnimator.pullIn();
+			timeOverlayFrames();
+		}
+
+		ptrOverlay.removeCallbacks(reset);
+		ptrOverlay.postDelayed(reset, 800);
+	}
+
+	private void startRefresh()
+	{
+		// Any speculative work is adopted by this refresh
+		prewarmed = false;
+		setViewsCanRefresh(false);
+
+		refreshing = true;
+		bindOverlay();
+
+		if (metrics != null)
+		{
+			refreshStartTime = SystemClock.uptimeMillis();
+		}
+
+		coordinator.setActiveHelper(this);
+		ptrProgressBar.setVisibility(View.GONE);
+		ptrIndeterminateProgressBar.setIndeterminate(true);
+		ptrIndeterminateProgressBar.setVisibility(View.VISIBLE);
+		ptrText.setText(R.string.ptr_refreshing);
+
+		ptrOverlay.postDelayed(reset, 800);
+
+		if (prewarmTask != null && prewarmTask.getListener() == asyncRefreshListener)
+		{
+			// The pre-warmed task keeps the progress handle it was started with
+			progressScheduler.schedule();
+		}
+		else
+		{
+			finishProgress();
+			refreshProgress = new RefreshProgress(this);
+		}
+
+		if (refreshListener != null)
+		{
+			refreshListener.onRefresh();
+		}
+
+		if (streamingRefreshListener != null)
+		{
+			streamingRefreshListener.onRefresh(refreshProgress);
+		}
+
+		if (asyncRefreshListener != null)
+		{
+			startRefreshTask(asyncRefreshListener);
+		}
+	}
+
+	private void startRefreshTask(OnAsyncRefreshListener<?> l)
+	{
+		RefreshTask<?> task = prewarmTask;
+		prewarmTask = null;
+		cancelRefresh();
+
+		if (task == null || task.getListener() != l)
+		{
+			if (task != null)
+			{
+				task.cancel(true);
+			}
+
+			task = executeRefreshTask(l, false);
+		}
+
+		refreshTask = task;
+
+		if (refreshTimeout > 0)
+		{
+			handler.postDelayed(timeout, refreshTimeout);
+		}
+
+		task.adopt();
+	}
+
+	private <T> RefreshTask<T> executeRefreshTask(OnAsyncRefreshListener<T> l, boolean speculative)
+	{
+		RefreshTask<T> task = new RefreshTask<T>(this, l, handler);
+
+		if (speculative)
+		{
+			task.holdResult();
+		}
+
+		(refreshExecutor != null ? refreshExecutor : getDefaultExecutor()).execute(task);
+		return task;
+	}
+
+	private void prewarm()
+	{
+		prewarmed = true;
+
+		if (prewarmListener != null)
+		{
+			prewarmListener.onPrewarm();
+		}
+
+		if (asyncRefreshListener != null)
+		{
+			// The task can report progress while pre-warming, so it gets the handle the refresh will use
+			finishProgress();
+			refreshProgress = new RefreshProgress(this);
+			prewarmTask = executeRefreshTask(asyncRefreshListener, true);
+		}
+	}
+
+	private void cancelPrewarm()
+	{
+		if (prewarmTask != null)
+		{
+			prewarmTask.cancel(true);
+			prewarmTask = null;
+
+			if (!refreshing)
+			{
+				finishProgress();
+			}
+		}
+
+		if (prewarmed)
+		{
+			prewarmed = false;
+
+			if (prewarmListener != null)
+			{
+				prewarmListener.onPrewarmCancelled();
+			}
+		}
+	}
+
+	/**
+	 * Called on the main thread when a refresh task has finished
+	 * @return true if the task is still the current one and its result should be used
+	 */
+	boolean onRefreshTaskComplete(RefreshTask<?> task)
+	{
+		if (task != refreshTask)
+		{
+			return false;
+		}
+
+		refreshTask = null;
+		handler.removeCallbacks(timeout);
+		return true;
+	}
+
+	/**
+	 * Cancels the in-flight {@link OnAsyncRefreshListener} task and any pre-warm work, if any.
+	 * The task's thread is interrupted and its result is dropped.
+	 */
+	public void cancelRefresh()
+	{
+		handler.removeCallbacks(timeout);
+		cancelPrewarm();
+
+		if (refreshTask != null)
+		{
+			refreshTask.cancel(true);
+			refreshTask = null;
+		}
+	}
+
+	/**
+	 * @return The progress handle of the running refresh, or null if not refreshing. Safe to
+	 * call from the refresh executor, so an {@link OnAsyncRefreshListener} can report progress,
+	 * including while it is pre-warming.
+	 */
+	public RefreshProgress getRefreshProgress()
+	{
+		return refreshProgress;
+	}
+
+	/**
+	 * Called from any thread when progress has been reported, draws it on the next frame
+	 */
+	void postProgress()
+	{
+		handler.post(scheduleProgress);
+	}
+
+	private void finishProgress()
+	{
+		if (refreshProgress != null)
+		{
+			refreshProgress.finish();
+			refreshProgress = null;
+		}
+
+		handler.removeCallbacks(scheduleProgress);
+		progressScheduler.cancel();
+	}
+
+	/**
+	 * @return The in-flight refresh task, or null if there isn't one
+	 */
+	public Future<?> getRefreshTask()
+	{
+		return refreshTask;
 	}
 
-	public void hideHelper()
+	@Override public void onRefreshScrolledPercentage(float percentage)
 	{
-		if (isRefreshing())
+		if (destroyed)
 		{
-			ptrIndeterminateProgressBar.setVisibility(View.GONE);
+			return;
+		}
+
+		if (prewarmFraction > 0 && !prewarmed && !refreshing && percentage >= prewarmFraction && !isFresh())
+		{
+			prewarm();
 		}
+
+		updateProgress(percentage);
 	}
 
-	public void showHelper()
+	private void updateProgress(float percentage)
 	{
-		if (isRefreshing())
+		if (ptrOverlay == null || !coordinator.isActive(this))
 		{
-			ptrIndeterminateProgressBar.setVisibility(View.VISIBLE);
+			return;
+		}
+
+		final int progress = Math.round(accelerationInterpolator.getInterpolation(percentage) * 100);
+
+		if (ptrProgressBar.getVisibility() != View.VISIBLE)
+		{
+			ptrProgressBar.setVisibility(View.VISIBLE);
+		}
+
+		// Avoid invalidating the bar when the rounded progress hasn't moved
+		if (ptrProgressBar.getProgress() != progress)
+		{
+			ptrProgressBar.setProgress(progress);
 		}
 	}
 
-	@Override public void onBeginRefresh()
+	/**
+	 * Alias for {@link RefreshHelper#onReset()}. This does not change the freshness of the
+	 * data, use {@link RefreshHelper#finish(String)} to finish a successful refresh.
+	 */
+	public void finish()
 	{
-		onRefreshScrolledPercentage(1.0f);
-		AnimationHelper.pullRefreshActionBar(ptrOverlay, abRoot);
+		onReset();
 	}
 
 	/**
-	 * Alias for {@link RefreshHelper#onRefresh()}
+	 * Finishes a successful refresh. Pulls made within the freshness TTL will not refresh again.
+	 * @param validator An opaque validator for the new data, such as an ETag, or null
 	 */
-	public void refresh()
+	public void finish(String validator)
 	{
-		onRefresh();
+		this.validator = validator;
+		onRefreshSucceeded();
+		onReset();
 	}
 
-	@Override public void onRefresh()
+	/**
+	 * Finishes a refresh that found the data had not changed since the last one. The
+	 * freshness TTL starts again, the validator is kept, and the overlay shows that
+	 * the data is up to date as it closes.
+	 */
+	public void finishNotModified()
 	{
-		if (scrollView != null)
+		if (destroyed)
 		{
-			scrollView.setCanRefresh(false);
+			return;
 		}
 
-		if (listView != null)
+		onRefreshSucceeded();
+		endRefresh();
+
+		if (ptrOverlay != null && coordinator.isActive(this))
 		{
-			listView.setCanRefresh(false);
+			showUpToDate();
 		}
+	}
 
-		refreshing = true;
-		ptrProgressBar.setVisibility(View.GONE);
-		ptrIndeterminateProgressBar.setVisibility(View.VISIBLE);
-		((TextView)ptrOverlay.findViewById(R.id.refresh_text)).setText(R.string.ptr_refreshing);
+	void onRefreshSucceeded()
+	{
+		lastRefreshSuccess = SystemClock.elapsedRealtime();
+	}
 
-		ptrOverlay.postDelayed(reset, 800);
+	/**
+	 * Sets how long after a successful refresh the data is treated as fresh. Pulls made
+	 * while the data is fresh show an up to date message instead of calling the listener.
+	 * 0 disables this, which is the default.
+	 * @param ttlMillis
+	 */
+	public void setFreshnessTtl(long ttlMillis)
+	{
+		this.freshnessTtl = ttlMillis;
+	}
 
-		if (refreshListener != null)
-		{
-			refreshListener.onRefresh();
-		}
+	/**
+	 * @return true if the last successful refresh was within the freshness TTL
+	 */
+	public boolean isFresh()
+	{
+		return freshnessTtl > 0 && lastRefreshSuccess != 0 && SystemClock.elapsedRealtime() - lastRefreshSuccess < freshnessTtl;
 	}
 
-	@Override public void onRefreshScrolledPercentage(float percentage)
+	/**
+	 * Marks the data as stale so the next pull refreshes. The validator is kept.
+	 */
+	public void invalidate()
 	{
-		ptrProgressBar.setVisibility(View.VISIBLE);
-		ptrProgressBar.setProgress(Math.round(accelerationInterpolator.getInterpolation(percentage) * 100));
+		lastRefreshSuccess = 0;
 	}
 
 	/**
-	 * Alias for {@link RefreshHelper#onReset()}
+	 * @return The validator of the last successful refresh, such as an ETag, to make a
+	 * conditional request with. Safe to call from the refresh executor.
 	 */
-	public void finish()
+	public String getValidator()
 	{
-		onReset();
+		return validator;
+	}
+
+	/**
+	 * Sets the validator of the current data. Safe to call from the refresh executor,
+	 * for example with the ETag of a response.
+	 * @param validator
+	 */
+	public void setValidator(String validator)
+	{
+		this.validator = validator;
 	}
 
 	/**
@@ -147,47 +829,64 @@ public class RefreshHelper implements OnOverScrollListener
 	 */
 	@Override public void onReset()
 	{
-		refreshing = false;
-		if (ptrIndeterminateProgressBar.getVisibility() == View.VISIBLE)
+		if (destroyed)
 		{
-			AnimationHelper.fadeOut(ptrIndeterminateProgressBar);
+			return;
 		}
 
-		ptrOverlay.removeCallbacks(reset);
-		resetOverlay();
+		endRefresh();
 
-		if (scrollView != null)
+		// Either nothing has been shown yet or another page owns the overlay, so leave it alone
+		if (ptrOverlay != null && coordinator.isActive(this))
 		{
-			scrollView.setCanRefresh(true);
-			scrollView.onRefreshComplete();
+			resetOverlay();
 		}
+	}
 
-		if (listView != null)
+	/**
+	 * Stops the refresh and lets the views be pulled again, leaving the overlay's text as it is
+	 */
+	private void endRefresh()
+	{
+		cancelRefresh();
+		finishProgress();
+
+		if (refreshing && metrics != null)
 		{
-			listView.setCanRefresh(true);
-			listView.onRefreshComplete();
+			metrics.onRefreshCompleted(SystemClock.uptimeMillis() - refreshStartTime);
+		}
+
+		refreshing = false;
+
+		if (ptrOverlay != null)
+		{
+			ptrOverlay.removeCallbacks(reset);
+
+			if (coordinator.isActive(this) && ptrIndeterminateProgressBar.getVisibility() == View.VISIBLE)
+			{
+				overlayAnimator.fadeOutIndeterminate();
+			}
 		}
+
+		setViewsCanRefresh(true);
+		completeViews();
 	}
 
 	private void resetOverlay()
 	{
 		if (ptrOverlay.getVisibility() == View.VISIBLE)
 		{
-			AnimationHelper.pullRefreshActionBarCancel(ptrOverlay, abRoot);
+			overlayAnimator.pullOut();
+			timeOverlayFrames();
 			ptrProgressBar.setVisibility(View.GONE);
 			ptrProgressBar.setProgress(0);
 
-			ptrOverlay.postDelayed(new Runnable()
-			{
-				@Override public void run()
-				{
-					((TextView)ptrOverlay.findViewById(R.id.refresh_text)).setText(R.string.ptr_pull);
-				}
-			}, 400);
+			ptrOverlay.removeCallbacks(resetText);
+			ptrOverlay.postDelayed(resetText, 400);
 		}
 		else
 		{
-			((TextView)ptrOverlay.findViewById(R.id.refresh_text)).setText(R.string.ptr_pull);
+			ptrText.setText(R.string.ptr_pull);
 		}
 	}
 
@@ -196,12 +895,111 @@ public class RefreshHelper implements OnOverScrollListener
 		this.refreshListener = l;
 	}
 
+	/**
+	 * Sets a listener which is given a {@link RefreshProgress} to report the progress of
+	 * the refresh with
+	 * @param l
+	 */
+	public void setOnStreamingRefreshListener(OnStreamingRefreshListener l)
+	{
+		this.streamingRefreshListener = l;
+	}
+
+	/**
+	 * Sets a listener whose refresh work is run on the refresh executor. The helper
+	 * finishes the refresh when the work completes, fails, or times out.
+	 * @param l
+	 */
+	public void setOnAsyncRefreshListener(OnAsyncRefreshListener<?> l)
+	{
+		this.asyncRefreshListener = l;
+	}
+
+	/**
+	 * Sets how far through the pull, as a fraction of the pull distance, the refresh is
+	 * pre-warmed. At that point {@link OnPrewarmListener#onPrewarm()} is called and any
+	 * {@link OnAsyncRefreshListener} is started early. The work is adopted by the refresh if
+	 * the pull reaches the end, or cancelled if it is released. 0 disables pre-warming, which
+	 * is the default.
+	 * @param fraction
+	 */
+	public void setPrewarmFraction(float fraction)
+	{
+		this.prewarmFraction = fraction;
+	}
+
+	public void setOnPrewarmListener(OnPrewarmListener l)
+	{
+		this.prewarmListener = l;
+	}
+
+	/**
+	 * Sets the executor used to run {@link OnAsyncRefreshListener#onRefresh()}. Defaults to
+	 * a shared cached thread pool.
+	 * @param executor
+	 */
+	public void setRefreshExecutor(Executor executor)
+	{
+		this.refreshExecutor = executor;
+	}
+
+	/**
+	 * Sets how long an async refresh may run before it is cancelled and
+	 * {@link OnAsyncRefreshListener#onRefreshFailed(Throwable)} is called with a
+	 * {@link TimeoutException}. Defaults to 30 seconds, 0 disables the timeout.
+	 * @param timeoutMillis
+	 */
+	public void setRefreshTimeout(long timeoutMillis)
+	{
+		this.refreshTimeout = timeoutMillis;
+	}
+
+	/**
+	 * Sets the metrics to report refresh timings to, including the gesture timings of
+	 * the wrapped views, or null to stop reporting
+	 * @param metrics
+	 */
+	public void setRefreshMetrics(RefreshMetrics metrics)
+	{
+		this.metrics = metrics;
+
+		RefreshableListView listView = getListView();
+		if (listView != null)
+		{
+			listView.refreshDelegate.setRefreshMetrics(metrics);
+		}
+
+		RefreshableScrollView scrollView = getScrollView();
+		if (scrollView != null)
+		{
+			scrollView.refreshDelegate.setRefreshMetrics(metrics);
+		}
+
+		RefreshableViewWrapper viewWrapper = getViewWrapper();
+		if (viewWrapper != null)
+		{
+			viewWrapper.refreshDelegate.setRefreshMetrics(metrics);
+		}
+	}
+
+	private static synchronized Executor getDefaultExecutor()
+	{
+		if (defaultExecutor == null)
+		{
+			defaultExecutor = Executors.newCachedThreadPool();
+		}
+
+		return defaultExecutor;
+	}
+
 	public void setRefreshableListView(RefreshableListView l)
 	{
 		if (l != null)
 		{
-			this.listView = l;
-			this.listView.setOnOverScrollListener(this);
+			this.listViewRef = new WeakReference<RefreshableListView>(l);
+			l.setOnOverScrollListener(this);
+			l.refreshDelegate.setRefreshMetrics(metrics);
+			finishOnDetach(l);
 		}
 	}
 
@@ -209,9 +1007,85 @@ public class RefreshHelper implements OnOverScrollListener
 	{
 		if (l != null)
 		{
-			this.scrollView = l;
-			this.scrollView.setOnOverScrollListener(this);
+			this.scrollViewRef = new WeakReference<RefreshableScrollView>(l);
+			l.setOnOverScrollListener(this);
+			l.refreshDelegate.setRefreshMetrics(metrics);
+			finishOnDetach(l);
+		}
+	}
+
+	/**
+	 * Sets a scrolling view that does not extend one of the refreshable views, such as a
+	 * {@link android.widget.GridView}. The view is wrapped with a {@link RefreshableViewWrapper}
+	 * which takes the view's {@link View.OnTouchListener}.
+	 * @param v The view to make refreshable
+	 */
+	public void setRefreshableView(View v)
+	{
+		if (v instanceof RefreshableListView)
+		{
+			setRefreshableListView((RefreshableListView)v);
+		}
+		else if (v instanceof RefreshableScrollView)
+		{
+			setRefreshableScrollView((RefreshableScrollView)v);
+		}
+		else if (v != null)
+		{
+			RefreshableViewWrapper wrapper = RefreshableViewWrapper.wrap(v);
+			this.viewWrapperRef = new WeakReference<RefreshableViewWrapper>(wrapper);
+			wrapper.setOnOverScrollListener(this);
+			wrapper.refreshDelegate.setRefreshMetrics(metrics);
+			finishOnDetach(v);
+		}
+	}
+
+	/**
+	 * Finds the action bar container for the activity's window. The result is cached
+	 * per window so repeated wraps and resets do not walk the view hierarchy again.
+	 * @param ctx
+	 * @return The action bar container, or null if one could not be found
+	 */
+	private static ViewGroup findActionBarContainer(Activity ctx)
+	{
+		Window window = ctx.getWindow();
+		View decor = window.getDecorView();
+
+		WeakReference<ViewGroup> cached = actionBarCache.get(window);
+		ViewGroup abRoot = cached == null ? null : cached.get();
+
+		// Make sure the cached container has not been removed from the window
+		if (abRoot != null && abRoot.getRootView() == decor)
+		{
+			return abRoot;
+		}
+
+		abRoot = (ViewGroup)decor.findViewById(R.id.action_bar_container);
+
+		if (abRoot == null)
+		{
+			if (actionBarContainerId == -1)
+			{
+				actionBarContainerId = ctx.getResources().getIdentifier("action_bar_container", "id", ctx.getPackageName());
+			}
+
+			if (actionBarContainerId > 0)
+			{
+				abRoot = (ViewGroup)decor.findViewById(actionBarContainerId);
+			}
+		}
+
+		if (abRoot == null)
+		{
+			abRoot = (ViewGroup)findActionBar(window);
 		}
+
+		if (abRoot != null)
+		{
+			actionBarCache.put(window, new WeakReference<ViewGroup>(abRoot));
+		}
+
+		return abRoot;
 	}
 
 	private static View findActionBar(Window w)
@@ -247,32 +1121,92 @@ public class RefreshHelper implements OnOverScrollListener
 		return retView;
 	}
 
-	private static <T extends View> T getFirstChildByInstance(ViewGroup parent, Class<T> instance)
+	/**
+	 * Walks the hierarchy under the given root once, binding the first {@link RefreshableListView}
+	 * and {@link RefreshableScrollView} found to the helper. The walk is iterative and reuses
+	 * a single index stack so it does not allocate. If neither is found, the first other
+	 * {@link AbsListView} is wrapped with a {@link RefreshableViewWrapper} instead.
+	 *
+	 * Any view tagged with {@code R.id.ptr_skip_search} (via {@link View#setTag(int, Object)})
+	 * is skipped along with its children.
+	 *
+	 * @param helper The helper to bind to
+	 * @param root The root to search from
+	 * @param maxDepth The maximum depth to search, where the root's children are depth 1
+	 */
+	private static void bindRefreshables(RefreshHelper helper, ViewGroup root, int maxDepth)
 	{
-		View retView = null;
-		int childCount = parent.getChildCount();
+		RefreshableListView list = null;
+		RefreshableScrollView scroll = null;
+		AbsListView other = null;
 
-		for (int childIndex = 0; childIndex < childCount; childIndex++)
+		ViewGroup parent = root;
+		int depth = 0;
+		searchIndices[0] = 0;
+
+		while (depth >= 0 && maxDepth > 0)
 		{
-			View child = parent.getChildAt(childIndex);
+			int index = searchIndices[depth];
 
-			if (instance.isAssignableFrom(child.getClass()))
+			if (index >= parent.getChildCount())
 			{
-				return instance.cast(child);
+				// Finished this group, carry on with the parent's next child
+				if (--depth >= 0)
+				{
+					parent = (ViewGroup)parent.getParent();
+				}
+
+				continue;
 			}
 
-			if (child instanceof ViewGroup)
+			searchIndices[depth] = index + 1;
+			View child = parent.getChildAt(index);
+
+			if (child.getTag(R.id.ptr_skip_search) != null)
 			{
-				View v = getFirstChildByInstance((ViewGroup)child, instance);
+				continue;
+			}
 
-				if (v != null)
+			if (list == null && child instanceof RefreshableListView)
+			{
+				list = (RefreshableListView)child;
+			}
+			else if (scroll == null && child instanceof RefreshableScrollView)
+			{
+				scroll = (RefreshableScrollView)child;
+			}
+			else if (other == null && child instanceof AbsListView)
+			{
+				other = (AbsListView)child;
+			}
+
+			if (list != null && scroll != null)
+			{
+				break;
+			}
+
+			if (child instanceof ViewGroup && depth + 1 < maxDepth)
+			{
+				if (++depth == searchIndices.length)
 				{
-					return instance.cast(v);
+					int[] indices = new int[searchIndices.length * 2];
+					System.arraycopy(searchIndices, 0, indices, 0, searchIndices.length);
+					searchIndices = indices;
 				}
+
+				searchIndices[depth] = 0;
+				parent = (ViewGroup)child;
 			}
 		}
 
-		return instance.cast(retView);
+		helper.setRefreshableListView(list);
+		helper.setRefreshableScrollView(scroll);
+
+		// Fall back to wrapping a plain list or grid when there are no refreshable views
+		if (list == null && scroll == null)
+		{
+			helper.setRefreshableView(other);
+		}
 	}
 
 	/**
@@ -281,22 +1215,12 @@ public class RefreshHelper implements OnOverScrollListener
 	 */
 	public static void reset(Activity ctx)
 	{
-		ViewGroup abRoot = null;
-
-		int id = ctx.getResources().getIdentifier("action_bar_container", "id", ctx.getPackageName());
-
-		if (id > 0)
-		{
-			abRoot = (ViewGroup)ctx.getWindow().getDecorView().findViewById(id);
-		}
-
-		if (id == 0 || abRoot == null)
-		{
-			abRoot = (ViewGroup)findActionBar(ctx.getWindow());
-		}
+		ViewGroup abRoot = findActionBarContainer(ctx);
 
 		if (abRoot != null)
 		{
+			RefreshCoordinator.release(abRoot);
+
 			View view = abRoot.findViewById(R.id.refresh_view);
 			while (view != null)
 			{
@@ -335,46 +1259,58 @@ public class RefreshHelper implements OnOverScrollListener
 		return helper;
 	}
 
+	public static RefreshHelper wrapRefreshable(Activity ctx, View view, OnRefreshListener l)
+	{
+		RefreshHelper helper = wrapRefreshable(ctx, l);
+		helper.setRefreshableView(view);
+		return helper;
+	}
+
 	public static RefreshHelper wrapRefreshable(Fragment fragment, OnRefreshListener l)
 	{
-		RefreshHelper helper = wrapRefreshable(fragment.getActivity(), l);
+		return wrapRefreshable(fragment, l, Integer.MAX_VALUE);
+	}
 
-		RefreshableListView list = getFirstChildByInstance((ViewGroup)fragment.getView(), RefreshableListView.class);
-		RefreshableScrollView scroll = getFirstChildByInstance((ViewGroup)fragment.getView(), RefreshableScrollView.class);
-		helper.setRefreshableListView(list);
-		helper.setRefreshableScrollView(scroll);
+	/**
+	 * Wraps the first refreshable views found in the fragment's layout
+	 * @param fragment
+	 * @param l
+	 * @param maxDepth The maximum depth to search the fragment's view for refreshables
+	 * @return
+	 */
+	public static RefreshHelper wrapRefreshable(Fragment fragment, OnRefreshListener l, int maxDepth)
+	{
+		RefreshHelper helper = wrapRefreshable(fragment.getActivity(), l);
+		bindRefreshables(helper, (ViewGroup)fragment.getView(), maxDepth);
 		return helper;
 	}
 
 	public static RefreshHelper wrapRefreshable(View view, OnRefreshListener l)
 	{
-		RefreshHelper helper = wrapRefreshable((Activity)view.getContext(), l);
+		return wrapRefreshable(view, l, Integer.MAX_VALUE);
+	}
 
-		RefreshableListView list = getFirstChildByInstance((ViewGroup)view, RefreshableListView.class);
-		RefreshableScrollView scroll = getFirstChildByInstance((ViewGroup)view, RefreshableScrollView.class);
-		helper.setRefreshableListView(list);
-		helper.setRefreshableScrollView(scroll);
+	/**
+	 * Wraps the first refreshable views found under the given view
+	 * @param view
+	 * @param l
+	 * @param maxDepth The maximum depth to search the view for refreshables
+	 * @return
+	 */
+	public static RefreshHelper wrapRefreshable(View view, OnRefreshListener l, int maxDepth)
+	{
+		RefreshHelper helper = wrapRefreshable((Activity)view.getContext(), l);
+		bindRefreshables(helper, (ViewGroup)view, maxDepth);
 		return helper;
 	}
 
 	public static RefreshHelper wrapRefreshable(Activity ctx, OnRefreshListener l)
 	{
-		ViewGroup abRoot;
-
-		if ((abRoot = (ViewGroup)ctx.getWindow().getDecorView().findViewById(R.id.action_bar_container)) == null)
-		{
-			abRoot = (ViewGroup)findActionBar(ctx.getWindow());
-		}
+		ViewGroup abRoot = findActionBarContainer(ctx);
 
 		if (abRoot != null)
 		{
-			View overlay = LayoutInflater.from(ctx).inflate(R.layout.abs_overlay, abRoot, false);
-			abRoot.addView(overlay);
-
-			View progressOverlay = LayoutInflater.from(ctx).inflate(R.layout.abs_overlay_progress, abRoot, false);
-			abRoot.addView(progressOverlay);
-
-			RefreshHelper helper = new RefreshHelper(overlay, progressOverlay, abRoot.getChildAt(0));
+			RefreshHelper helper = new RefreshHelper(RefreshCoordinator.obtain(ctx, abRoot));
 			helper.setOnRefreshListener(l);
 			return helper;
 		}
@@ -386,4 +1322,62 @@ public class RefreshHelper implements OnOverScrollListener
 	{
 		public void onRefresh();
 	}
+
+	/**
+	 * Refresh listener for work that can report its progress, such as a large download.
+	 * Call {@link RefreshHelper#finish()} once the refresh is done as with {@link OnRefreshListener}.
+	 */
+	public interface OnStreamingRefreshListener
+	{
+		/**
+		 * @param progress The handle to report progress to, it can be used from any thread
+		 * until the refresh finishes
+		 */
+		public void onRefresh(RefreshProgress progress);
+	}
+
+	/**
+	 * Listener told when a pull is far enough along that a refresh is likely, see
+	 * {@link RefreshHelper#setPrewarmFraction(float)}
+	 */
+	public interface OnPrewarmListener
+	{
+		/**
+		 * Called on the main thread when the pull passes the pre-warm fraction. Start
+		 * anything the refresh will need, such as opening a connection.
+		 */
+		public void onPrewarm();
+
+		/**
+		 * Called if the pull is released without refreshing, undo or cancel anything
+		 * started in {@link OnPrewarmListener#onPrewarm()}
+		 */
+		public void onPrewarmCancelled();
+	}
+
+	/**
+	 * Refresh listener whose work is run off the main thread. The helper calls
+	 * {@link RefreshHelper#finish()} itself once the work is done, so there is no
+	 * need to call it from the listener.
+	 */
+	public interface OnAsyncRefreshListener<T>
+	{
+		/**
+		 * Called on the refresh executor. The thread is interrupted if the refresh
+		 * is cancelled. Throw a {@link NotModifiedException} if the data has not changed,
+		 * see {@link RefreshHelper#getValidator()}.
+		 * @return The refreshed data
+		 */
+		public T onRefresh() throws Exception;
+
+		/**
+		 * Called on the main thread with the result of {@link OnAsyncRefreshListener#onRefresh()}
+		 */
+		public void onRefreshResult(T result);
+
+		/**
+		 * Called on the main thread if the refresh threw or timed out
+		 */
+		public void onRefreshFailed(Throwable error);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+/**
+ * Receives timings from the pull to refresh lifecycle. Set one with
+ * {@link RefreshHelper#setRefreshMetrics(RefreshMetrics)} or
+ * {@link RefreshDelegate#setRefreshMetrics(RefreshMetrics)} to route them to
+ * your own telemetry. Nothing is measured while no metrics are set.
+ *
+ * All methods are called on the main thread.
+ */
+public interface RefreshMetrics
+{
+	/**
+	 * Called after the delegate has handled a touch event
+	 * @param action The event's action
+	 * @param durationNanos The time spent handling the event
+	 */
+	public void onTouchHandled(int action, long durationNanos);
+
+	/**
+	 * Called when a pull reaches the refresh threshold
+	 * @param durationMillis The time from the start of the pull to reaching the threshold
+	 */
+	public void onPullThresholdReached(long durationMillis);
+
+	/**
+	 * Called when a pull ends without triggering a refresh
+	 */
+	public void onPullReset();
+
+	/**
+	 * Called when a refresh trigger is merged into another refresh or dropped
+	 */
+	public void onRefreshSuppressed();
+
+	/**
+	 * Called for each frame while the overlay animates. Only reported on API 16+
+	 * @param frameIntervalNanos The time since the previous frame
+	 */
+	public void onOverlayFrame(long frameIntervalNanos);
+
+	/**
+	 * Called when a refresh is reset
+	 * @param durationMillis The time from the refresh starting to it being reset
+	 */
+	public void onRefreshCompleted(long durationMillis);
+}
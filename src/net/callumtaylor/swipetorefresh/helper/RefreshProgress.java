@@ -0,0 +1,93 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.callumtaylor.swipetorefresh.view.RefreshProgressView;
+
+/**
+ * Handle for reporting the progress of a running refresh, such as the bytes
+ * or items received so far. The helper shows it on the refresh progress bar,
+ * drawing at most once per frame however often progress is reported.
+ *
+ * Progress can be reported from any thread. Reports made after the refresh
+ * has finished are ignored.
+ */
+public class RefreshProgress
+{
+	/**
+	 * Resolution of the progress bar
+	 */
+	static final int MAX = 1000;
+
+	private final RefreshHelper helper;
+	private final AtomicBoolean posted = new AtomicBoolean();
+	private long current, total;
+	private volatile boolean finished;
+
+	RefreshProgress(RefreshHelper helper)
+	{
+		this.helper = helper;
+	}
+
+	/**
+	 * Reports the progress of the refresh
+	 * @param current The amount received so far
+	 * @param total The total amount expected, or 0 if unknown
+	 */
+	public void setProgress(long current, long total)
+	{
+		synchronized (this)
+		{
+			this.current = current;
+			this.total = total;
+		}
+
+		if (!finished && posted.compareAndSet(false, true))
+		{
+			helper.postProgress();
+		}
+	}
+
+	/**
+	 * @return true once the refresh this handle belongs to has finished or been cancelled,
+	 * any further work can be stopped
+	 */
+	public boolean isFinished()
+	{
+		return finished;
+	}
+
+	void finish()
+	{
+		finished = true;
+	}
+
+	/**
+	 * Shows the latest progress on the bar. Called on the main thread.
+	 * @param bar
+	 */
+	void applyTo(RefreshProgressView bar)
+	{
+		posted.set(false);
+
+		final long current, total;
+		synchronized (this)
+		{
+			current = this.current;
+			total = this.total;
+		}
+
+		if (total <= 0)
+		{
+			return;
+		}
+
+		if (bar.isIndeterminate())
+		{
+			bar.setIndeterminate(false);
+			bar.setMax(MAX);
+		}
+
+		bar.setProgress((int)(Math.min(current, total) * MAX / total));
+	}
+}
@@ -0,0 +1,128 @@
+package net.callumtaylor.swipetorefresh.helper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import net.callumtaylor.swipetorefresh.helper.RefreshHelper.OnAsyncRefreshListener;
+import android.os.Handler;
+
+/**
+ * Runs the background part of an {@link OnAsyncRefreshListener} and posts
+ * the result back to the main thread. Results from a task that has been
+ * cancelled or replaced by a newer refresh are dropped.
+ */
+class RefreshTask<T> extends FutureTask<T>
+{
+	private final RefreshHelper helper;
+	private final OnAsyncRefreshListener<T> listener;
+	private final Handler handler;
+	private boolean adopted = true, waiting;
+	private final Runnable deliver = new Runnable()
+	{
+		@Override public void run()
+		{
+			deliverResult();
+		}
+	};
+
+	public RefreshTask(RefreshHelper helper, final OnAsyncRefreshListener<T> listener, Handler handler)
+	{
+		super(new Callable<T>()
+		{
+			@Override public T call() throws Exception
+			{
+				return listener.onRefresh();
+			}
+		});
+
+		this.helper = helper;
+		this.listener = listener;
+		this.handler = handler;
+	}
+
+	@Override protected void done()
+	{
+		if (!isCancelled())
+		{
+			handler.post(deliver);
+		}
+	}
+
+	/**
+	 * Holds the result back until {@link RefreshTask#adopt()} is called, for a task
+	 * started speculatively before the refresh. Must be called before the task runs.
+	 */
+	void holdResult()
+	{
+		adopted = false;
+	}
+
+	/**
+	 * Releases a held result, delivering it if the task has already finished
+	 */
+	void adopt()
+	{
+		adopted = true;
+
+		if (waiting)
+		{
+			waiting = false;
+			handler.post(deliver);
+		}
+	}
+
+	private void deliverResult()
+	{
+		if (!adopted)
+		{
+			waiting = true;
+			return;
+		}
+
+		if (isCancelled() || !helper.onRefreshTaskComplete(this))
+		{
+			return;
+		}
+
+		boolean notModified = false;
+
+		try
+		{
+			T result = get();
+			helper.onRefreshSucceeded();
+			listener.onRefreshResult(result);
+		}
+		catch (ExecutionException e)
+		{
+			// Nothing has changed so there is no result to deliver
+			notModified = e.getCause() instanceof NotModifiedException;
+
+			if (!notModified)
+			{
+				listener.onRefreshFailed(e.getCause());
+			}
+		}
+		catch (InterruptedException e)
+		{
+			listener.onRefreshFailed(e);
+		}
+		finally
+		{
+			// Finish even if the listener throws, so the views are not left locked
+			if (notModified)
+			{
+				helper.finishNotModified();
+			}
+			else
+			{
+				helper.finish();
+			}
+		}
+	}
+
+	public OnAsyncRefreshListener<T> getListener()
+	{
+		return listener;
+	}
+}
@@ -0,0 +1,167 @@
+package net.callumtaylor.swipetorefresh.view;
+
+import net.callumtaylor.pulltorefresh.R;
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.AttributeSet;
+import android.view.View;
+
+/**
+ * Lightweight progress bar used by the refresh overlay. Draws either a
+ * determinate bar that grows out from the centre, or an indeterminate set of
+ * segments scrolling across the view, straight onto the canvas with no
+ * drawables or bitmaps.
+ *
+ * The colour is set with the {@code ptr_progressColor} attribute and the
+ * height with {@code android:minHeight}, normally through the
+ * {@code ptr_progress_style} and {@code ptr_progress_indeterminate_style}
+ * theme attributes.
+ */
+public class RefreshProgressView extends View
+{
+	/**
+	 * Widths of the indeterminate segments as a fraction of the view's width
+	 */
+	private static final float[] SEGMENTS = {0.25f, 0.3f, 0.22f, 0.1f, 0.13f};
+	private static final long INDETERMINATE_DURATION = 2000;
+
+	private final Paint paint = new Paint();
+	private final float gap;
+	private boolean indeterminate;
+	private int progress, max = 100;
+
+	public RefreshProgressView(Context context)
+	{
+		this(context, null);
+	}
+
+	public RefreshProgressView(Context context, AttributeSet attrs)
+	{
+		super(context, attrs);
+
+		TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.RefreshProgressView, 0, 0);
+		paint.setColor(a.getColor(R.styleable.RefreshProgressView_ptr_progressColor, 0xccffffff));
+		indeterminate = a.getBoolean(R.styleable.RefreshProgressView_ptr_indeterminate, false);
+		a.recycle();
+
+		gap = 4 * getResources().getDisplayMetrics().density;
+	}
+
+	public void setColor(int color)
+	{
+		paint.setColor(color);
+		invalidate();
+	}
+
+	public boolean isIndeterminate()
+	{
+		return indeterminate;
+	}
+
+	public void setIndeterminate(boolean indeterminate)
+	{
+		this.indeterminate = indeterminate;
+		invalidate();
+	}
+
+	public int getMax()
+	{
+		return max;
+	}
+
+	public void setMax(int max)
+	{
+		this.max = max;
+
+		if (progress > max)
+		{
+			progress = max;
+		}
+
+		invalidate();
+	}
+
+	public int getProgress()
+	{
+		return progress;
+	}
+
+	public void setProgress(int progress)
+	{
+		progress = Math.max(0, Math.min(progress, max));
+
+		if (this.progress != progress)
+		{
+			this.progress = progress;
+			invalidate();
+		}
+	}
+
+	@Override protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec)
+	{
+		setMeasuredDimension
+		(
+			getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec),
+			resolveSize(getSuggestedMinimumHeight(), heightMeasureSpec)
+		);
+	}
+
+	@Override protected void onDraw(Canvas canvas)
+	{
+		final int width = getWidth();
+		final int height = getHeight();
+
+		if (indeterminate)
+		{
+			drawIndeterminate(canvas, width, height);
+
+			// Drawing stops by itself when the view is hidden as onDraw is no longer called
+			postNextFrame();
+		}
+		else if (max > 0 && progress > 0)
+		{
+			final float half = width * progress / (float)max / 2f;
+			canvas.drawRect(width / 2f - half, 0, width / 2f + half, height, paint);
+		}
+	}
+
+	private void drawIndeterminate(Canvas canvas, int width, int height)
+	{
+		final float offset = width * (SystemClock.uptimeMillis() % INDETERMINATE_DURATION) / (float)INDETERMINATE_DURATION;
+
+		// Draw the pattern twice, one width apart, so it wraps around seamlessly
+		float left = offset - width;
+		for (int pass = 0; pass < 2; pass++)
+		{
+			for (int index = 0; index < SEGMENTS.length; index++)
+			{
+				final float right = left + SEGMENTS[index] * width;
+
+				if (right > 0 && left < width)
+				{
+					canvas.drawRect(Math.max(left, 0), 0, Math.min(right - gap, width), height, paint);
+				}
+
+				left = right;
+			}
+		}
+	}
+
+	@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+	private void postNextFrame()
+	{
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+		{
+			postInvalidateOnAnimation();
+		}
+		else
+		{
+			postInvalidateDelayed(16);
+		}
+	}
+}
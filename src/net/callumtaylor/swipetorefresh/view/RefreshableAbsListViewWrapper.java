@@ -0,0 +1,36 @@
+package net.callumtaylor.swipetorefresh.view;
+
+import android.view.View;
+import android.widget.AbsListView;
+
+/**
+ * Refreshable wrapper for any {@link AbsListView}, such as a
+ * {@link android.widget.GridView} or {@link android.widget.ExpandableListView}.
+ * Works on all API levels by checking the first visible child rather than
+ * relying on {@link View#canScrollVertically(int)}.
+ */
+public class RefreshableAbsListViewWrapper extends RefreshableViewWrapper
+{
+	private final AbsListView listView;
+
+	public RefreshableAbsListViewWrapper(AbsListView view)
+	{
+		super(view);
+		this.listView = view;
+	}
+
+	@Override public boolean canStartRefreshing()
+	{
+		if (listView.getCount() == 0)
+		{
+			return true;
+		}
+		else if (listView.getFirstVisiblePosition() <= 0)
+		{
+			final View firstVisibleChild = listView.getChildAt(0);
+			return firstVisibleChild != null && firstVisibleChild.getTop() >= 0;
+		}
+
+		return false;
+	}
+}
@@ -3,6 +3,7 @@ package net.callumtaylor.swipetorefresh.view;
 import net.callumtaylor.swipetorefresh.helper.RefreshDelegate;
 import net.callumtaylor.swipetorefresh.helper.RefreshDelegate.ScrollDelegate;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
@@ -12,6 +13,8 @@ public class RefreshableListView extends ListView implements View.OnTouchListene
 {
 	private boolean mBlockLayoutChildren = false;
 	private boolean canRefresh = true;
+	private boolean scrolledToTop = true;
+	private boolean empty = true;
 	private int touchDownPos = Integer.MAX_VALUE;
 	public RefreshDelegate refreshDelegate;
 
@@ -48,36 +51,46 @@ public class RefreshableListView extends ListView implements View.OnTouchListene
 	private void init()
 	{
 		refreshDelegate = new RefreshDelegate(getContext(), this);
-		setOnTouchListener(this);
 	}
 
 	@Override public boolean isScrolledToTop()
 	{
-		if (getCount() == 0)
-		{
-			return true;
-		}
-		else if (touchDownPos < 2)
-		{
-			return true;
-		}
-
-		return false;
+		return empty || touchDownPos < 2;
 	}
 
 	@Override public boolean canStartRefreshing()
 	{
-		if (getCount() == 0)
+		return scrolledToTop;
+	}
+
+	/**
+	 * Works out whether the list is empty or fully at the top. This is only called when
+	 * the list scrolls or lays out its children, which includes after data set changes,
+	 * so the touch path can read the cached values.
+	 */
+	private void updateScrolledToTop()
+	{
+		empty = getCount() == 0;
+
+		if (empty)
 		{
-			return true;
+			scrolledToTop = true;
 		}
 		else if (getFirstVisiblePosition() <= 0)
 		{
 			final View firstVisibleChild = getChildAt(0);
-			return firstVisibleChild != null && firstVisibleChild.getTop() >= 0;
+			scrolledToTop = firstVisibleChild != null && firstVisibleChild.getTop() >= 0;
 		}
+		else
+		{
+			scrolledToTop = false;
+		}
+	}
 
-		return false;
+	@Override protected void onScrollChanged(int l, int t, int oldl, int oldt)
+	{
+		super.onScrollChanged(l, t, oldl, oldt);
+		updateScrolledToTop();
 	}
 
 	@Override protected void layoutChildren()
@@ -86,6 +99,8 @@ public class RefreshableListView extends ListView implements View.OnTouchListene
 		{
 			super.layoutChildren();
 		}
+
+		updateScrolledToTop();
 	}
 
 	public void onRefreshComplete()
@@ -93,7 +108,28 @@ public class RefreshableListView extends ListView implements View.OnTouchListene
 		refreshDelegate.onRefreshComplete();
 	}
 
+	/**
+	 * Every event passes through here exactly once, whether or not a child handles it
+	 * or disallows intercepting, so the delegate always sees the whole gesture
+	 */
+	@Override public boolean dispatchTouchEvent(MotionEvent event)
+	{
+		handleTouch(event);
+		return super.dispatchTouchEvent(event);
+	}
+
 	@Override public final boolean onTouch(View view, MotionEvent event)
+	{
+		handleTouch(event);
+		return false;
+	}
+
+	/**
+	 * Passes the event to the refresh delegate. Move events are only passed on when
+	 * the delegate is already tracking the gesture or the list could start refreshing,
+	 * so scrolling further down the list does no refresh work.
+	 */
+	private void handleTouch(MotionEvent event)
 	{
 		if ((event.getAction() == MotionEvent.ACTION_DOWN)
 		|| (event.getAction() == MotionEvent.ACTION_MOVE && touchDownPos >= Integer.MAX_VALUE))
@@ -105,12 +141,10 @@ public class RefreshableListView extends ListView implements View.OnTouchListene
 			touchDownPos = Integer.MAX_VALUE;
 		}
 
-		if (canRefresh)
+		if (canRefresh && (event.getAction() != MotionEvent.ACTION_MOVE || refreshDelegate.isHandlingTouch() || canStartRefreshing()))
 		{
-			refreshDelegate.onTouch(view, event);
+			refreshDelegate.onTouch(this, event);
 		}
-
-		return false;
 	}
 
 	public void setBlockLayoutChildren(boolean t)
@@ -118,11 +152,26 @@ public class RefreshableListView extends ListView implements View.OnTouchListene
 		mBlockLayoutChildren = t;
 	}
 
+	@Override protected void onConfigurationChanged(Configuration newConfig)
+	{
+		super.onConfigurationChanged(newConfig);
+		refreshDelegate.onConfigurationChanged(newConfig);
+	}
+
 	public void setOnOverScrollListener(OnOverScrollListener l)
 	{
 		refreshDelegate.setOnOverScrollListener(l);
 	}
 
+	/**
+	 * Allows a fast downward fling to trigger the refresh early
+	 * @param dpPerSecond The velocity in dp per second, or 0 to disable
+	 */
+	public void setFlingRefreshVelocity(int dpPerSecond)
+	{
+		refreshDelegate.setFlingRefreshVelocity(dpPerSecond);
+	}
+
 	public void startRefresh()
 	{
 		refreshDelegate.startRefresh();
@@ -2,15 +2,26 @@ package net.callumtaylor.swipetorefresh.view;
 
 import net.callumtaylor.swipetorefresh.helper.RefreshDelegate;
 import net.callumtaylor.swipetorefresh.helper.RefreshDelegate.ScrollDelegate;
+import android.annotation.TargetApi;
 import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Build;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewGroup;
+import android.widget.AbsListView;
 import android.widget.ScrollView;
 
+/**
+ * Scroll view that can be pulled to refresh once it is scrolled right to the top.
+ * A pull that starts over a nested scrolling child, such as a list, only refreshes
+ * if that child is at its top as well.
+ */
 public class RefreshableScrollView extends ScrollView implements View.OnTouchListener, ScrollDelegate
 {
 	private boolean canRefresh = true;
+	private boolean touchInScrolledChild;
 	public RefreshDelegate refreshDelegate;
 
 	public RefreshableScrollView(Context context)
@@ -46,17 +57,75 @@ public class RefreshableScrollView extends ScrollView implements View.OnTouchLis
 	private void init()
 	{
 		refreshDelegate = new RefreshDelegate(getContext(), this);
-		setOnTouchListener(this);
 	}
 
 	@Override public boolean isScrolledToTop()
 	{
-		return getScrollY() <= 100;
+		return !canScrollUp(this);
 	}
 
 	@Override public boolean canStartRefreshing()
 	{
-		return isScrolledToTop();
+		return !touchInScrolledChild && isScrolledToTop();
+	}
+
+	/**
+	 * @param view
+	 * @return true if the view's content can scroll further up
+	 */
+	@TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+	private static boolean canScrollUp(View view)
+	{
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+		{
+			return view.canScrollVertically(-1);
+		}
+
+		if (view instanceof AbsListView)
+		{
+			AbsListView list = (AbsListView)view;
+			return list.getChildCount() > 0 && (list.getFirstVisiblePosition() > 0 || list.getChildAt(0).getTop() < list.getPaddingTop());
+		}
+
+		return view.getScrollY() > 0;
+	}
+
+	/**
+	 * Checks whether the point lies over a nested child that is not scrolled to its top
+	 * @param parent
+	 * @param x The x position relative to the parent's content
+	 * @param y The y position relative to the parent's content
+	 * @return true if such a child was found
+	 */
+	private static boolean isOverScrolledChild(ViewGroup parent, float x, float y)
+	{
+		for (int index = parent.getChildCount() - 1; index >= 0; index--)
+		{
+			View child = parent.getChildAt(index);
+
+			if (child.getVisibility() != View.VISIBLE
+			|| x < child.getLeft() || x >= child.getRight()
+			|| y < child.getTop() || y >= child.getBottom())
+			{
+				continue;
+			}
+
+			if (canScrollUp(child))
+			{
+				return true;
+			}
+
+			if (child instanceof ViewGroup)
+			{
+				float childX = x - child.getLeft() + child.getScrollX();
+				float childY = y - child.getTop() + child.getScrollY();
+				return isOverScrolledChild((ViewGroup)child, childX, childY);
+			}
+
+			return false;
+		}
+
+		return false;
 	}
 
 	public void onRefreshComplete()
@@ -64,14 +133,46 @@ public class RefreshableScrollView extends ScrollView implements View.OnTouchLis
 		refreshDelegate.onRefreshComplete();
 	}
 
+	/**
+	 * Every event passes through here exactly once, whether or not a child handles it
+	 * or disallows intercepting, so the delegate always sees the whole gesture
+	 */
+	@Override public boolean dispatchTouchEvent(MotionEvent event)
+	{
+		handleTouch(event);
+		return super.dispatchTouchEvent(event);
+	}
+
 	@Override public final boolean onTouch(View view, MotionEvent event)
 	{
-		if (canRefresh)
+		handleTouch(event);
+		return false;
+	}
+
+	/**
+	 * Passes the event to the refresh delegate. Move events are only passed on when
+	 * the delegate is already tracking the gesture or the view could start refreshing,
+	 * so scrolling further down the content does no refresh work.
+	 */
+	private void handleTouch(MotionEvent event)
+	{
+		if (event.getAction() == MotionEvent.ACTION_DOWN)
 		{
-			refreshDelegate.onTouch(view, event);
+			// The hit test is only needed when a pull could start, not while scrolled into the content
+			touchInScrolledChild = canRefresh && isScrolledToTop()
+				&& isOverScrolledChild(this, event.getX() + getScrollX(), event.getY() + getScrollY());
 		}
 
-		return false;
+		if (canRefresh && (event.getAction() != MotionEvent.ACTION_MOVE || refreshDelegate.isHandlingTouch() || canStartRefreshing()))
+		{
+			refreshDelegate.onTouch(this, event);
+		}
+	}
+
+	@Override protected void onConfigurationChanged(Configuration newConfig)
+	{
+		super.onConfigurationChanged(newConfig);
+		refreshDelegate.onConfigurationChanged(newConfig);
 	}
 
 	public void setOnOverScrollListener(OnOverScrollListener l)
@@ -79,10 +180,22 @@ public class RefreshableScrollView extends ScrollView implements View.OnTouchLis
 		refreshDelegate.setOnOverScrollListener(l);
 	}
 
+	/**
+	 * Allows a fast downward fling to trigger the refresh early
+	 * @param dpPerSecond The velocity in dp per second, or 0 to disable
+	 */
+	public void setFlingRefreshVelocity(int dpPerSecond)
+	{
+		refreshDelegate.setFlingRefreshVelocity(dpPerSecond);
+	}
+
 	public void startRefresh()
 	{
 		refreshDelegate.startRefresh();
 	}
 
-	@Override public void onResetTouch(){}
+	@Override public void onResetTouch()
+	{
+		touchInScrolledChild = false;
+	}
 }
\ No newline at end of file
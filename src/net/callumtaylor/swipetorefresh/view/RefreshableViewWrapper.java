@@ -0,0 +1,118 @@
+package net.callumtaylor.swipetorefresh.view;
+
+import net.callumtaylor.swipetorefresh.helper.RefreshDelegate;
+import net.callumtaylor.swipetorefresh.helper.RefreshDelegate.ScrollDelegate;
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.AbsListView;
+
+/**
+ * Makes any scrolling view refreshable without having to subclass it. The
+ * wrapper installs itself as the view's {@link View.OnTouchListener} and uses
+ * {@link View#canScrollVertically(int)} to know when the view is at the top.
+ *
+ * Use {@link RefreshableViewWrapper#wrap(View)} to get the right wrapper for
+ * {@link AbsListView} subclasses such as {@link android.widget.GridView}.
+ */
+public class RefreshableViewWrapper implements View.OnTouchListener, ScrollDelegate
+{
+	protected final View view;
+	private boolean canRefresh = true;
+	public RefreshDelegate refreshDelegate;
+
+	public RefreshableViewWrapper(View view)
+	{
+		this.view = view;
+		refreshDelegate = new RefreshDelegate(view.getContext(), this);
+		view.setOnTouchListener(this);
+	}
+
+	/**
+	 * Wraps the given view, using a list aware wrapper for {@link AbsListView}s
+	 * @param view The view to wrap
+	 * @return The wrapper
+	 */
+	public static RefreshableViewWrapper wrap(View view)
+	{
+		if (view instanceof AbsListView)
+		{
+			return new RefreshableAbsListViewWrapper((AbsListView)view);
+		}
+
+		return new RefreshableViewWrapper(view);
+	}
+
+	public View getView()
+	{
+		return view;
+	}
+
+	public boolean getCanRefresh()
+	{
+		return canRefresh;
+	}
+
+	public void setCanRefresh(boolean canRefresh)
+	{
+		this.canRefresh = canRefresh;
+	}
+
+	/**
+	 * Starts a refresh intent only showing the indeterminate progress
+	 */
+	public void indeterminateRefresh()
+	{
+		refreshDelegate.fauxRefresh();
+	}
+
+	@Override public boolean isScrolledToTop()
+	{
+		return canStartRefreshing();
+	}
+
+	@TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+	@Override public boolean canStartRefreshing()
+	{
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+		{
+			return !view.canScrollVertically(-1);
+		}
+
+		return view.getScrollY() <= 0;
+	}
+
+	public void onRefreshComplete()
+	{
+		refreshDelegate.onRefreshComplete();
+	}
+
+	@Override public boolean onTouch(View v, MotionEvent event)
+	{
+		// The wrapped view's configuration changes are not passed on, so check for one as each gesture starts
+		if (canRefresh && event.getAction() == MotionEvent.ACTION_DOWN)
+		{
+			refreshDelegate.checkDisplayMetrics();
+		}
+
+		if (canRefresh && (event.getAction() != MotionEvent.ACTION_MOVE || refreshDelegate.isHandlingTouch() || canStartRefreshing()))
+		{
+			refreshDelegate.onTouch(v, event);
+		}
+
+		return false;
+	}
+
+	public void setOnOverScrollListener(OnOverScrollListener l)
+	{
+		refreshDelegate.setOnOverScrollListener(l);
+	}
+
+	public void startRefresh()
+	{
+		refreshDelegate.startRefresh();
+	}
+
+	@Override public void onResetTouch(){}
+}